@@ -0,0 +1,85 @@
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes name.gz and name.br next to each compressible file under the given
+ * directory, at maximum compression. Spring's EncodedResourceResolver serves
+ * them in place of the original when the client accepts the encoding.
+ * <p>
+ * A variant is kept only if it is smaller than the original. Runs as a
+ * single-file program from the Maven build (see compress-assets in pom.xml):
+ * java -cp ... scripts/CompressAssets.java target/classes/static
+ */
+public class CompressAssets {
+
+    private static final Set<String> EXTENSIONS = Set.of("css", "js", "html", "svg", "json", "txt");
+    private static final int MIN_SIZE = 256;
+
+    public static void main(String[] args) throws IOException {
+        Path root = Path.of(args[0]);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        boolean brotli = Brotli4jLoader.isAvailable();
+        if (!brotli) {
+            System.err.println("[compress-assets] brotli unavailable, writing gzip only: "
+                    + Brotli4jLoader.getUnavailabilityCause());
+        }
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).filter(CompressAssets::isCompressible).toList();
+        }
+        long original = 0, gzipped = 0, brotlied = 0;
+        for (Path file : files) {
+            byte[] bytes = Files.readAllBytes(file);
+            original += bytes.length;
+            gzipped += writeIfSmaller(file, ".gz", bytes, gzip(bytes));
+            if (brotli) {
+                Encoder.Parameters params = new Encoder.Parameters().setQuality(11).setMode(Encoder.Mode.TEXT);
+                brotlied += writeIfSmaller(file, ".br", bytes, Encoder.compress(bytes, params));
+            }
+        }
+        System.out.printf("[compress-assets] %d files, %d bytes -> gzip %d, brotli %d%n",
+                files.size(), original, gzipped, brotlied);
+    }
+
+    private static boolean isCompressible(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 && EXTENSIONS.contains(name.substring(dot + 1));
+    }
+
+    private static long writeIfSmaller(Path file, String suffix, byte[] original, byte[] compressed)
+            throws IOException {
+        Path target = file.resolveSibling(file.getFileName() + suffix);
+        if (original.length < MIN_SIZE || compressed.length >= original.length) {
+            Files.deleteIfExists(target);
+            return 0;
+        }
+        Files.write(target, compressed);
+        return compressed.length;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gz.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
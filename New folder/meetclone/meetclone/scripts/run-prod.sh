@@ -0,0 +1,16 @@
+#!/usr/bin/env bash
+# Starts the production build (mvn -Pprod package) with its AOT-generated
+# context and the CDS archive recorded during the build. Static assets are
+# served from the copy in target/app/static so they can go out via sendfile.
+# Extra arguments are passed to the application, e.g. --server.port=9000.
+set -euo pipefail
+
+APP_DIR="${APP_DIR:-$(cd "$(dirname "$0")/.." && pwd)/target/app}"
+JAR=$(ls "$APP_DIR"/meetclone-*.jar)
+
+exec java ${JAVA_OPTS:-} \
+    -XX:SharedArchiveFile="$APP_DIR/application.jsa" \
+    -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=prod \
+    -Dmeetclone.assets.location="file:$APP_DIR/static/" \
+    -jar "$JAR" "$@"
@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+# Time from JVM launch to the first successful HTTP response, for:
+#   dev       fat jar, default profile (template cache off, ddl-auto=update)
+#   prod      extracted jar, prod profile
+#   prod-aot  extracted jar, prod profile, AOT context and CDS archive
+# Build first with: mvn -Pprod -DskipTests package
+#
+# By default every mode runs against in-memory H2, using the driver the
+# prod build copies to target/cds-training for its training run, so no
+# server is needed. H2 starts empty, so the schema is created in every mode
+# (by Hibernate in dev, by Flyway in prod), and the MySQL schema diff that
+# ddl-auto=update costs in dev is not measured. Set DB_URL, DB_USER and
+# DB_PASSWORD to a MySQL instance with the schema in place to include it.
+#
+# Usage: scripts/startup-benchmark.sh [runs-per-mode]
+set -euo pipefail
+
+RUNS="${1:-5}"
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+APP_DIR="$ROOT/target/app"
+FAT_JAR=$(ls "$ROOT"/target/meetclone-*.jar | grep -v original | head -1)
+EXTRACTED_JAR=$(ls "$APP_DIR"/meetclone-*.jar)
+PORT="${PORT:-18080}"
+
+MAIN=com.meetclone.MeetcloneApplication
+
+if [[ -n "${DB_URL:-}" ]]; then
+    DB_ARGS=(-Dspring.datasource.url="$DB_URL" -Dspring.datasource.username="${DB_USER:-root}"
+        -Dspring.datasource.password="${DB_PASSWORD:-}")
+    DRIVER_CP=""
+else
+    DB_ARGS=(-Dspring.datasource.url="jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE"
+        -Dspring.datasource.driver-class-name=org.h2.Driver -Dspring.datasource.username=sa
+        -Dspring.datasource.password=)
+    # Appended after the app, so the CDS archive's classpath is still a prefix.
+    DRIVER_CP=":$ROOT/target/cds-training/h2.jar"
+fi
+
+measure() {
+    local start end pid
+    start=$(date +%s%N)
+    "$@" --server.port="$PORT" >/dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/loginpage"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited before serving a request" >&2
+            return 1
+        fi
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo $(((end - start) / 1000000))
+}
+
+run_mode() {
+    local name=$1
+    shift
+    local times=()
+    for _ in $(seq "$RUNS"); do
+        times+=("$(measure "$@")")
+    done
+    local sorted median
+    sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+    median=$(echo "$sorted" | sed -n "$(((RUNS + 1) / 2))p")
+    printf '%-10s median %6d ms   runs: %s\n' "$name" "$median" "${times[*]}"
+}
+
+echo "time to first request, $RUNS runs per mode"
+run_mode dev java "${DB_ARGS[@]}" -cp "$FAT_JAR$DRIVER_CP" org.springframework.boot.loader.launch.JarLauncher
+run_mode prod java "${DB_ARGS[@]}" -Dspring.profiles.active=prod -cp "$EXTRACTED_JAR$DRIVER_CP" "$MAIN"
+run_mode prod-aot java -XX:SharedArchiveFile="$APP_DIR/application.jsa" -Dspring.aot.enabled=true \
+    "${DB_ARGS[@]}" -Dspring.profiles.active=prod -cp "$EXTRACTED_JAR$DRIVER_CP" "$MAIN"
@@ -0,0 +1,73 @@
+package com.meetclone.benchmark;
+
+import com.meetclone.service.MeetingCodeGenerator;
+import com.meetclone.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meeting-code and OTP generation, single-threaded and contended. The code
+ * generator runs on a clock whose "second" lasts 100 µs, so its 16384 ids
+ * per second never run out and next() measures the CAS, mix and base32
+ * formatting rather than waiting for the wall clock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeGenerationBenchmark {
+
+    private MeetingCodeGenerator codeGenerator;
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        codeGenerator = new FastClockGenerator();
+        codeGenerator.init();
+        userService = new UserService();
+    }
+
+    @Benchmark
+    public String generateMeetingCode() {
+        return codeGenerator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateMeetingCodeContended() {
+        return codeGenerator.next();
+    }
+
+    @Benchmark
+    public String generateOtp() {
+        return userService.generateOtp();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateOtpContended() {
+        return userService.generateOtp();
+    }
+
+    private static final class FastClockGenerator extends MeetingCodeGenerator {
+        private final long origin = System.nanoTime();
+
+        @Override
+        protected long currentSecond() {
+            return (System.nanoTime() - origin) / 100_000;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.meetclone.benchmark;
+
+import com.meetclone.service.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login throughput at a fixed bcrypt cost: 16 concurrent callers verifying
+ * through the bounded hashing pool, as the login endpoint does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(16)
+public class PasswordHashingBenchmark {
+
+    @Param({ "10", "12" })
+    public int cost;
+
+    private PasswordHasher hasher;
+    private String stored;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hasher = new PasswordHasher();
+        ReflectionTestUtils.setField(hasher, "configuredCost", cost);
+        ReflectionTestUtils.setField(hasher, "threads", 0);
+        ReflectionTestUtils.setField(hasher, "queueCapacity", 256);
+        ReflectionTestUtils.setField(hasher, "timeout", Duration.ofMinutes(1));
+        hasher.start();
+        stored = hasher.hash("Sunrise2024");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hasher.stop();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return hasher.matches("Sunrise2024", stored);
+    }
+}
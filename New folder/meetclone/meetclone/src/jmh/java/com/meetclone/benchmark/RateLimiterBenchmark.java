@@ -0,0 +1,67 @@
+package com.meetclone.benchmark;
+
+import com.meetclone.service.TokenBucketLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the rate limiter: one hot key (a single abusive
+ * client, mostly rejected) and 50k distinct keys (normal traffic).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 50_000;
+
+    private TokenBucketLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketLimiter(30, Duration.ofMinutes(1), 100_000);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "198.51." + (i >> 8) + "." + (i & 0xFF);
+        }
+    }
+
+    @Benchmark
+    public long hotKey() {
+        return limiter.tryAcquire("203.0.113.7", System.currentTimeMillis());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long hotKeyContended() {
+        return limiter.tryAcquire("203.0.113.7", System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public long manyKeys() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)], System.currentTimeMillis());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long manyKeysContended() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)], System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,95 @@
+package com.meetclone.benchmark;
+
+import com.meetclone.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation and sanitization on the signup, login, join and reset paths.
+ * Each input set has a typical value, a long value and one aimed at the
+ * regex engine's backtracking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserValidationBenchmark {
+
+    @Param({ "typical", "long", "adversarial" })
+    public String input;
+
+    private UserService userService;
+
+    private String email;
+    private String password;
+    private String username;
+    private String otp;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        userService = new UserService();
+        switch (input) {
+            case "typical" -> {
+                email = "  Jane.Doe+meet@Example.co.uk ";
+                password = "Sunrise2024";
+                username = "jane_doe42";
+                otp = "482913";
+                text = "Let's meet at 5 <b>sharp</b> - see https://example.com/a/b";
+            }
+            case "long" -> {
+                email = "a".repeat(60) + "." + "b".repeat(60) + "@" + "sub.".repeat(40) + "example.com";
+                password = "Aa1" + "x".repeat(4096);
+                username = "u" + "a".repeat(19);
+                otp = "1234567890";
+                text = "<p class=\"msg\">It's a/b test</p> ".repeat(256);
+            }
+            case "adversarial" -> {
+                email = "a@" + "a-".repeat(2000) + "!";
+                password = "x".repeat(10_000);
+                username = "a".repeat(19) + "!";
+                otp = "12345a";
+                text = "<>\"'/".repeat(2000);
+            }
+            default -> throw new IllegalArgumentException(input);
+        }
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return userService.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean isValidPassword() {
+        return userService.isValidPassword(password);
+    }
+
+    @Benchmark
+    public boolean isValidUsername() {
+        return userService.isValidUsername(username);
+    }
+
+    @Benchmark
+    public boolean isValidOtp() {
+        return userService.isValidOtp(otp);
+    }
+
+    @Benchmark
+    public String sanitizeInput() {
+        return userService.sanitizeInput(text);
+    }
+}
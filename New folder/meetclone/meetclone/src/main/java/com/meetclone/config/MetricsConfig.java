@@ -0,0 +1,144 @@
+package com.meetclone.config;
+
+import com.meetclone.repository.MeetingRepository;
+import com.meetclone.repository.UserRepository;
+import com.meetclone.service.AdminStatsService;
+import com.meetclone.service.ChatSearchIndex;
+import com.meetclone.service.LastLoginBuffer;
+import com.meetclone.service.MeetingService;
+import com.meetclone.service.NotificationDispatcher;
+import com.meetclone.service.NotificationService;
+import com.meetclone.service.PasswordHasher;
+import com.meetclone.service.PresenceRegistry;
+import com.meetclone.service.RateLimitService;
+import com.meetclone.service.UserService;
+import com.meetclone.session.OffHeapSessionStore;
+import com.meetclone.session.SessionStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers for the user and meeting services and repositories, plus
+ * gauges for live state, published on /actuator/prometheus. Controller
+ * mappings are already timed by Spring MVC as http.server.requests.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final Map<Class<?>, String> SERVICES = Map.of(
+            UserService.class, "UserService",
+            MeetingService.class, "MeetingService");
+
+    // Only calls that reach the database, the password pool or the outbox are
+    // timed; validators and other in-memory helpers are not.
+    private static final Map<Class<?>, Set<String>> TIMED_SERVICE_METHODS = Map.of(
+            UserService.class, Set.of("emailExists", "usernameExists", "createUser", "getUserByEmail",
+                    "getUserById", "authenticate", "verifyPassword", "hashPassword", "sendOtpEmail"),
+            MeetingService.class, Set.of("createMeeting", "startMeeting", "getMeetingByCode", "saveMeeting",
+                    "getMeetingById", "endMeeting"));
+
+    private static final Map<Class<?>, String> REPOSITORIES = Map.of(
+            UserRepository.class, "UserRepository",
+            MeetingRepository.class, "MeetingRepository");
+
+    @Bean
+    public static BeanPostProcessor methodTimingPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                Class<?> targetClass = AopUtils.getTargetClass(bean);
+                String service = SERVICES.get(targetClass);
+                if (service != null) {
+                    MethodTimingInterceptor timing = new MethodTimingInterceptor(registry.getObject(),
+                            "meetclone.service", service, targetClass, TIMED_SERVICE_METHODS.get(targetClass));
+                    if (bean instanceof Advised advised) {
+                        advised.addAdvice(0, timing);
+                        return bean;
+                    }
+                    ProxyFactory factory = new ProxyFactory(bean);
+                    factory.setProxyTargetClass(true);
+                    factory.addAdvice(timing);
+                    return factory.getProxy(targetClass.getClassLoader());
+                }
+                if (bean instanceof Advised advised) {
+                    for (Map.Entry<Class<?>, String> repository : REPOSITORIES.entrySet()) {
+                        if (repository.getKey().isInstance(bean)) {
+                            advised.addAdvice(0, new MethodTimingInterceptor(registry.getObject(),
+                                    "meetclone.repository", repository.getValue(), repository.getKey(), null));
+                        }
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder meetcloneGauges(AdminStatsService adminStats, PresenceRegistry presence,
+            LastLoginBuffer lastLogins, PasswordHasher passwordHasher, RateLimitService rateLimits,
+            SessionStore sessionStore, RenderedPageCache pageCache, ChatSearchIndex chatSearch,
+            NotificationService notifications, NotificationDispatcher dispatcher) {
+        return registry -> {
+            Gauge.builder("meetclone.meetings.active", adminStats, AdminStatsService::getActiveMeetings)
+                    .description("Meetings not yet ended").register(registry);
+            Gauge.builder("meetclone.meetings.live", presence, PresenceRegistry::getLiveMeetingCount)
+                    .description("Meetings with someone present on this node").register(registry);
+            Gauge.builder("meetclone.participants.live", presence, PresenceRegistry::getLiveParticipantCount)
+                    .description("Participants present on this node").register(registry);
+            Gauge.builder("meetclone.users.total", adminStats, AdminStatsService::getTotalUsers)
+                    .register(registry);
+            Gauge.builder("meetclone.last_login.pending", lastLogins, LastLoginBuffer::getPendingCount)
+                    .register(registry);
+            Gauge.builder("meetclone.password_hash.queue", passwordHasher, PasswordHasher::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("meetclone.rate_limit.keys", rateLimits,
+                    r -> r.getKeyCounts().values().stream().mapToInt(Integer::intValue).sum())
+                    .register(registry);
+            FunctionCounter.builder("meetclone.page_cache.hits", pageCache, RenderedPageCache::getHits)
+                    .register(registry);
+            FunctionCounter.builder("meetclone.page_cache.misses", pageCache, RenderedPageCache::getMisses)
+                    .register(registry);
+            Gauge.builder("meetclone.page_cache.pages", pageCache, RenderedPageCache::getPageCount)
+                    .register(registry);
+            Gauge.builder("meetclone.chat_search.indexes", chatSearch, ChatSearchIndex::getIndexCount)
+                    .description("Meetings with a chat search index in memory").register(registry);
+            Gauge.builder("meetclone.outbox.depth", notifications, n -> n.recentStats().queueDepth())
+                    .description("Notifications waiting to be sent").register(registry);
+            Gauge.builder("meetclone.outbox.failed", notifications, n -> n.recentStats().failed())
+                    .description("Notifications given up on and not yet purged").register(registry);
+            TimeGauge.builder("meetclone.outbox.oldest_pending_age", notifications, TimeUnit.MILLISECONDS,
+                    n -> n.recentStats().oldestPendingAgeMillis())
+                    .description("Age of the oldest notification waiting to be sent").register(registry);
+            TimeGauge.builder("meetclone.outbox.delivery_lag", dispatcher, TimeUnit.MILLISECONDS,
+                    NotificationDispatcher::getLastLagMillis)
+                    .description("Enqueue-to-send time of the last notification this node sent")
+                    .register(registry);
+            FunctionCounter.builder("meetclone.outbox.sent", dispatcher, NotificationDispatcher::getSentCount)
+                    .register(registry);
+            FunctionCounter.builder("meetclone.outbox.retries", dispatcher, NotificationDispatcher::getRetryCount)
+                    .register(registry);
+            Gauge.builder("meetclone.sessions.active", sessionStore,
+                    s -> s.countActive(System.currentTimeMillis()))
+                    .description("Unexpired sessions in the store (this node, or all nodes with the jdbc store)")
+                    .register(registry);
+            if (sessionStore instanceof OffHeapSessionStore offHeap) {
+                Gauge.builder("meetclone.sessions.reserved", offHeap, OffHeapSessionStore::getReservedBytes)
+                        .baseUnit("bytes").register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.meetclone.config;
+
+import com.meetclone.service.RateLimitService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Locale;
+
+/**
+ * Rejects login, OTP and join attempts over their rate limit with 429
+ * before the controller, and so the database, sees them. Clients are
+ * keyed by remote address; behind a proxy set server.forward-headers-strategy
+ * so that is the real client.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private RateLimitService rateLimitService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String ip = request.getRemoteAddr();
+        long waitMillis = switch (request.getServletPath()) {
+            case "/loginpage" -> check(RateLimitService.LOGIN_IP, ip,
+                    RateLimitService.LOGIN_EMAIL, normalize(request.getParameter("email")));
+            case "/forgot-password" -> check(RateLimitService.OTP_SEND_IP, ip,
+                    RateLimitService.OTP_SEND_EMAIL, normalize(request.getParameter("email")));
+            case "/verify-otp" -> check(RateLimitService.OTP_VERIFY, ip,
+                    RateLimitService.OTP_VERIFY, resetEmail(request));
+            case "/joinMeeting" -> check(RateLimitService.JOIN_IP, ip,
+                    RateLimitService.JOIN_CODE, normalize(request.getParameter("meetingCode")));
+            default -> 0;
+        };
+        if (waitMillis == 0) {
+            return true;
+        }
+        response.setHeader("Retry-After", Long.toString((waitMillis + 999) / 1000));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many attempts. Please try again later.");
+        return false;
+    }
+
+    private long check(String ipPolicy, String ip, String keyPolicy, String key) {
+        long wait = rateLimitService.tryAcquire(ipPolicy, ip);
+        if (wait > 0) {
+            return wait;
+        }
+        return rateLimitService.tryAcquire(keyPolicy, key == null ? null : "k:" + key);
+    }
+
+    private static String resetEmail(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session == null ? null : normalize((String) session.getAttribute("resetEmail"));
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+}
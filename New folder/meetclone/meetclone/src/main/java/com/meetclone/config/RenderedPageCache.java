@@ -0,0 +1,135 @@
+package com.meetclone.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves the views in meetclone.page-cache.views from memory after their
+ * first render. Those templates read nothing from the model except the
+ * error and success messages, which are fixed strings. The encoded page is
+ * therefore stored once per (error, success) pair, with at most
+ * MAX_VARIANTS_PER_VIEW variants per view. Any other model attribute is
+ * ignored, so a view that starts reading one must come off the list.
+ * <p>
+ * Responses carry a strong ETag and Cache-Control: no-cache. A browser
+ * revalidates each time and gets a 304 while the page is unchanged.
+ * Ordered ahead of Thymeleaf's resolver. Enabled with the template cache by
+ * default, so pages stay live while templates are being edited.
+ */
+@Component
+public class RenderedPageCache implements ViewResolver, Ordered {
+
+    static final int MAX_VARIANTS_PER_VIEW = 32;
+
+    @Autowired
+    private ThymeleafViewResolver thymeleafViewResolver;
+
+    @Value("${meetclone.page-cache.enabled:${spring.thymeleaf.cache:true}}")
+    private boolean enabled;
+
+    @Value("${meetclone.page-cache.views:loginpage,signup,contact}")
+    private Set<String> viewNames;
+
+    private final Map<String, CachedPageView> views = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Override
+    public View resolveViewName(String viewName, Locale locale) throws Exception {
+        if (!enabled || !viewNames.contains(viewName)) {
+            return null;
+        }
+        CachedPageView view = views.get(viewName);
+        if (view == null) {
+            View delegate = thymeleafViewResolver.resolveViewName(viewName, locale);
+            if (delegate == null) {
+                return null;
+            }
+            view = views.computeIfAbsent(viewName, name -> new CachedPageView(delegate));
+        }
+        return view;
+    }
+
+    @Override
+    public int getOrder() {
+        return thymeleafViewResolver.getOrder() - 1;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getPageCount() {
+        return views.values().stream().mapToInt(view -> view.pages.size()).sum();
+    }
+
+    private record Variant(Object error, Object success) {
+    }
+
+    private record Page(byte[] body, String contentType, String etag) {
+    }
+
+    private final class CachedPageView implements View {
+
+        private final View delegate;
+        private final Map<Variant, Page> pages = new ConcurrentHashMap<>();
+
+        private CachedPageView(View delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getContentType() {
+            return delegate.getContentType();
+        }
+
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response)
+                throws Exception {
+            Variant variant = model == null ? new Variant(null, null)
+                    : new Variant(model.get("error"), model.get("success"));
+            Page page = pages.get(variant);
+            if (page != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+                delegate.render(model, request, capture);
+                byte[] body = capture.getContentAsByteArray();
+                page = new Page(body, capture.getContentType(), "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+                if (pages.size() < MAX_VARIANTS_PER_VIEW) {
+                    pages.putIfAbsent(variant, page);
+                }
+            }
+
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            if (new ServletWebRequest(request, response).checkNotModified(page.etag())) {
+                return;
+            }
+            response.setContentType(page.contentType());
+            response.setContentLength(page.body().length);
+            response.getOutputStream().write(page.body());
+        }
+    }
+}
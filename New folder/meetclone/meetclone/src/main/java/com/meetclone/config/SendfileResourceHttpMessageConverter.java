@@ -0,0 +1,48 @@
+package com.meetclone.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Writes file-backed resources with Tomcat's sendfile instead of copying
+ * them through the servlet output stream. The handler has already set
+ * Content-Length; this only names the file and byte range, and the
+ * connector transfers it from the page cache once the request completes.
+ * <p>
+ * Resources inside a jar are not files and are copied as usual, so this
+ * takes effect when assets are served from a directory (classes/ in
+ * development, meetclone.assets.location in production).
+ */
+public class SendfileResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    static final String SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    @Override
+    protected void writeContent(Resource resource, HttpOutputMessage outputMessage) throws IOException {
+        HttpServletRequest request = currentRequest();
+        if (request != null && Boolean.TRUE.equals(request.getAttribute(SUPPORT_ATTR)) && resource.isFile()) {
+            File file = resource.getFile();
+            request.setAttribute(FILENAME_ATTR, file.getCanonicalPath());
+            request.setAttribute(START_ATTR, 0L);
+            request.setAttribute(END_ATTR, file.length());
+            return;
+        }
+        super.writeContent(resource, outputMessage);
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest() : null;
+    }
+}
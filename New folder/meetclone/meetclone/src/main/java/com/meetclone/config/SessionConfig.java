@@ -0,0 +1,48 @@
+package com.meetclone.config;
+
+import com.meetclone.session.CompactSessionRepository;
+import com.meetclone.session.JdbcSessionStore;
+import com.meetclone.session.OffHeapSessionStore;
+import com.meetclone.session.SessionStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.time.Duration;
+
+/**
+ * Replaces the container's HttpSession with {@link CompactSessionRepository}.
+ * With {@code meetclone.session.store=local} (the default) sessions live
+ * off-heap on this node. With {@code jdbc} they are kept in a shared table,
+ * so any node can serve any request; the table is created by the Flyway
+ * migrations, which the prod profile runs.
+ */
+@Configuration
+@EnableSpringHttpSession
+public class SessionConfig {
+
+    @Value("${meetclone.session.store:local}")
+    private String storeType;
+
+    @Value("${server.servlet.session.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${meetclone.session.touch-interval:60s}")
+    private Duration touchInterval;
+
+    @Bean
+    public SessionStore sessionStore(ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        if ("jdbc".equalsIgnoreCase(storeType)) {
+            return new JdbcSessionStore(jdbcTemplate.getObject());
+        }
+        return new OffHeapSessionStore();
+    }
+
+    @Bean
+    public CompactSessionRepository sessionRepository(SessionStore sessionStore) {
+        return new CompactSessionRepository(sessionStore, timeout, touchInterval);
+    }
+}
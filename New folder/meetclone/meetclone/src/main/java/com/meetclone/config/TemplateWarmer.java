@@ -0,0 +1,68 @@
+package com.meetclone.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+
+/**
+ * With meetclone.templates.prewarm, parses every template in templates/
+ * into the template cache at startup, before the web server accepts
+ * requests. It uses the throttled entry point because, for a cacheable
+ * template, that parses and caches the whole template but renders nothing
+ * until asked. Most pages could not render here anyway, with no request or
+ * model.
+ */
+@Component
+public class TemplateWarmer implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateWarmer.class);
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Value("${meetclone.templates.prewarm:false}")
+    private boolean prewarm;
+
+    @Value("${spring.thymeleaf.prefix:classpath:/templates/}")
+    private String prefix;
+
+    @Value("${spring.thymeleaf.suffix:.html}")
+    private String suffix;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!prewarm) {
+            return;
+        }
+        long start = System.nanoTime();
+        Resource[] templates;
+        try {
+            templates = new PathMatchingResourcePatternResolver().getResources(prefix + "*" + suffix);
+        } catch (IOException e) {
+            log.warn("Could not list templates under {}", prefix, e);
+            return;
+        }
+        for (Resource template : templates) {
+            String filename = template.getFilename();
+            if (filename == null) {
+                continue;
+            }
+            String name = filename.substring(0, filename.length() - suffix.length());
+            try {
+                templateEngine.processThrottled(name, new Context());
+            } catch (RuntimeException e) {
+                log.warn("Could not pre-parse template {}", name, e);
+            }
+        }
+        log.info("Pre-warmed {} templates in {} ms", templates.length, (System.nanoTime() - start) / 1_000_000);
+    }
+}
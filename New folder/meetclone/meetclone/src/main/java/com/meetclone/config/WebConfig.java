@@ -0,0 +1,82 @@
+package com.meetclone.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.AbstractUrlHandlerMapping;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final String[] ASSET_DIRS = {"css", "js"};
+
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Value("${meetclone.assets.location:}")
+    private String assetsLocation;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/loginpage", "/forgot-password", "/verify-otp", "/joinMeeting");
+    }
+
+    /**
+     * Templates link assets through @{...}, which ResourceUrlEncodingFilter
+     * rewrites to a content-hashed name such as /css/style-1f3a....css. The
+     * URL changes whenever the bytes do, so the response can be cached for a
+     * year without revalidation. The .br or .gz variant written by the build
+     * is chosen from Accept-Encoding.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String dir : ASSET_DIRS) {
+            ResourceHandlerRegistration registration = registry.addResourceHandler("/" + dir + "/**");
+            if (!assetsLocation.isEmpty()) {
+                registration.addResourceLocations(assetsLocation + dir + "/");
+            }
+            registration.addResourceLocations("classpath:/static/" + dir + "/")
+                    .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
+    @Bean
+    public static BeanPostProcessor sendfileResourceHandlers() {
+        SendfileResourceHttpMessageConverter converter = new SendfileResourceHttpMessageConverter();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractUrlHandlerMapping mapping) {
+                    for (Object handler : mapping.getHandlerMap().values()) {
+                        if (handler instanceof ResourceHttpRequestHandler resourceHandler) {
+                            resourceHandler.setResourceHttpMessageConverter(converter);
+                        }
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
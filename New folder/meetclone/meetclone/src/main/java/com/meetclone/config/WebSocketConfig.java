@@ -0,0 +1,25 @@
+package com.meetclone.config;
+
+import com.meetclone.controller.MeetingWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
+
+import java.util.List;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    @Autowired
+    private MeetingWebSocketHandler meetingWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(meetingWebSocketHandler, "/ws/meeting")
+                .addInterceptors(new HttpSessionHandshakeInterceptor(List.of("userId", "username", "meetingCode", "meetingId")));
+    }
+}
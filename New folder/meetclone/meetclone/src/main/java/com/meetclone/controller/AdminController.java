@@ -0,0 +1,159 @@
+package com.meetclone.controller;
+
+import com.meetclone.dto.ImportReport;
+import com.meetclone.dto.KeysetPage;
+import com.meetclone.dto.MeetingSummary;
+import com.meetclone.dto.UserSummary;
+import com.meetclone.service.AdminListingService;
+import com.meetclone.service.AdminStatsService;
+import com.meetclone.service.MeetingDirectoryCache;
+import com.meetclone.service.MeetingService;
+import com.meetclone.service.NotificationService;
+import com.meetclone.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/admin/api")
+public class AdminController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private AdminListingService adminListingService;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<AdminStatsService.Snapshot> stats(HttpSession session) {
+        if (!isAdmin(session)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(adminStatsService.snapshot());
+    }
+
+    @GetMapping("/meeting-cache")
+    public ResponseEntity<MeetingDirectoryCache.Stats> meetingCacheStats(HttpSession session) {
+        if (!isAdmin(session)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(meetingService.getDirectoryStats());
+    }
+
+    @GetMapping("/notifications")
+    public ResponseEntity<NotificationService.Stats> notificationStats(HttpSession session) {
+        if (!isAdmin(session)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(notificationService.stats());
+    }
+
+    @GetMapping("/users")
+    public ResponseEntity<KeysetPage<UserSummary>> users(@RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            HttpSession session) {
+        if (!isAdmin(session)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(adminListingService.listUsers(role, active, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/meetings")
+    public ResponseEntity<KeysetPage<MeetingSummary>> meetings(@RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            HttpSession session) {
+        if (!isAdmin(session)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(adminListingService.listMeetings(active, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpSession session) {
+        if (!isAdmin(session)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        StreamingResponseBody body = out -> adminListingService.exportUsers(role, active, format, out);
+        return export("users", format, body);
+    }
+
+    @GetMapping("/meetings/export")
+    public ResponseEntity<StreamingResponseBody> exportMeetings(@RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpSession session) {
+        if (!isAdmin(session)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        StreamingResponseBody body = out -> adminListingService.exportMeetings(active, format, out);
+        return export("meetings", format, body);
+    }
+
+    /**
+     * Imports users from the raw request body, CSV or NDJSON. The format
+     * comes from the format parameter, or else from the Content-Type.
+     */
+    @PostMapping("/users/import")
+    public ResponseEntity<ImportReport> importUsers(@RequestParam(required = false) String format,
+            HttpServletRequest request,
+            HttpSession session) throws IOException {
+        if (!isAdmin(session)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (format == null) {
+            String contentType = request.getContentType();
+            format = contentType != null && contentType.contains("json") ? "ndjson" : "csv";
+        }
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), format));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, String format, StreamingResponseBody body) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
+
+    private boolean isAdmin(HttpSession session) {
+        return "ADMIN".equals(session.getAttribute("role"));
+    }
+}
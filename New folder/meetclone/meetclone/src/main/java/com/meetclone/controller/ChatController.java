@@ -0,0 +1,70 @@
+package com.meetclone.controller;
+
+import com.meetclone.service.ChatLogStore;
+import com.meetclone.service.ChatSearchIndex;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+public class ChatController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    @Autowired
+    private ChatLogStore chatLogStore;
+
+    @Autowired
+    private ChatSearchIndex chatSearchIndex;
+
+    @GetMapping("/chat/history")
+    public ResponseEntity<StreamingResponseBody> history(@RequestParam(defaultValue = "1") long fromSeq,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long limit,
+            HttpSession session) {
+        String meetingCode = (String) session.getAttribute("meetingCode");
+        if (meetingCode == null || session.getAttribute("userId") == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        StreamingResponseBody body = out -> chatLogStore.replay(meetingCode, fromSeq, limit, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    /**
+     * Searches the current meeting's chat. Results are chat messages, one per
+     * line, newest first. Pass the last seq seen as beforeSeq for the next page.
+     */
+    @GetMapping("/chat/search")
+    public ResponseEntity<StreamingResponseBody> search(@RequestParam String q,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long beforeSeq,
+            @RequestParam(defaultValue = "20") int limit,
+            HttpSession session) {
+        String meetingCode = (String) session.getAttribute("meetingCode");
+        if (meetingCode == null || session.getAttribute("userId") == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<byte[]> results = chatSearchIndex.search(meetingCode, q, beforeSeq,
+                Math.clamp(limit, 0, MAX_SEARCH_RESULTS));
+        StreamingResponseBody body = out -> {
+            for (byte[] frame : results) {
+                out.write(frame);
+                out.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
@@ -0,0 +1,29 @@
+package com.meetclone.controller;
+
+import com.meetclone.service.MeetingService;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class MeetingController {
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @GetMapping("/meeting/presence")
+    public ResponseEntity<Map<String, Object>> presence(HttpSession session) {
+        String meetingCode = (String) session.getAttribute("meetingCode");
+        if (meetingCode == null || session.getAttribute("userId") == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of(
+                "meetingCode", meetingCode,
+                "participantCount", meetingService.getLiveParticipantCount(meetingCode)));
+    }
+}
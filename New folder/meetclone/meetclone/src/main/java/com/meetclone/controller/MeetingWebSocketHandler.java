@@ -0,0 +1,105 @@
+package com.meetclone.controller;
+
+import com.meetclone.service.ChatRelayService;
+import com.meetclone.service.MeetingConnection;
+import com.meetclone.service.MeetingService;
+import com.meetclone.service.MeetingStateService;
+import com.meetclone.service.RoomShardExecutor;
+import com.meetclone.service.SignalingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+@Component
+public class MeetingWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String CONNECTION_ATTR = "meetingConnection";
+
+    @Autowired
+    private ChatRelayService chatRelayService;
+
+    @Autowired
+    private SignalingService signalingService;
+
+    @Autowired
+    private MeetingStateService meetingStateService;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private RoomShardExecutor shards;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${meetclone.rooms.max-queued-messages:256}")
+    private int maxQueuedMessages;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String meetingCode = (String) session.getAttributes().get("meetingCode");
+        Long meetingId = (Long) session.getAttributes().get("meetingId");
+        Long userId = (Long) session.getAttributes().get("userId");
+        String username = (String) session.getAttributes().get("username");
+
+        if (meetingCode == null || meetingId == null || userId == null || username == null) {
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+
+        // SDP offers outgrow the container's 8 KB default.
+        session.setTextMessageSizeLimit(SignalingService.MAX_SDP_LENGTH + 4096);
+        MeetingConnection connection = new MeetingConnection(session, meetingCode, userId, username,
+                shards.getSendExecutor(), maxQueuedMessages);
+        session.getAttributes().put(CONNECTION_ATTR, connection);
+        meetingService.participantConnected(meetingCode, meetingId, userId);
+        chatRelayService.join(connection);
+        signalingService.join(connection);
+        meetingStateService.join(connection);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        MeetingConnection connection = (MeetingConnection) session.getAttributes().get(CONNECTION_ATTR);
+        if (connection == null) {
+            return;
+        }
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(message.getPayload());
+        } catch (JacksonException e) {
+            return;
+        }
+
+        String type = node.path("type").asString("");
+        switch (type) {
+            case "chat" -> chatRelayService.publish(connection, node.path("text").asString(null));
+            case "offer", "answer", "ice" -> signalingService.relay(connection, type, node);
+            case "state" -> meetingStateService.update(connection, node);
+            case "state-sync" -> meetingStateService.resync(connection);
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+        MeetingConnection connection = (MeetingConnection) session.getAttributes().remove(CONNECTION_ATTR);
+        if (connection != null) {
+            connection.close(status);
+            chatRelayService.leave(connection);
+            signalingService.leave(connection);
+            meetingStateService.leave(connection);
+            meetingService.participantDisconnected(connection.getMeetingCode(), connection.getUserId());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.meetclone.controller;
 import com.meetclone.entity.User;
 import com.meetclone.entity.Meeting;
 import com.meetclone.service.UserService;
+import com.meetclone.service.AdminStatsService;
 import com.meetclone.service.MeetingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -23,6 +24,9 @@ public class UserController {
     @Autowired
     private MeetingService meetingService;
 
+    @Autowired
+    private AdminStatsService adminStatsService;
+
     @GetMapping("/")
     public String loginPage() {
         return "loginpage";
@@ -38,6 +42,11 @@ public class UserController {
         return "signup";
     }
 
+    @GetMapping("/contact")
+    public String contactPage() {
+        return "contact";
+    }
+
     @GetMapping("/index")
     public String indexPage(HttpSession session, Model model) {
         Boolean isLoggedIn = (Boolean) session.getAttribute("isLoggedIn");
@@ -67,6 +76,7 @@ public class UserController {
 
         String username = (String) session.getAttribute("username");
         model.addAttribute("username", username);
+        model.addAttribute("stats", adminStatsService.snapshot());
 
         return "admin_dashboard";
     }
@@ -106,6 +116,7 @@ public class UserController {
         model.addAttribute("meetingCode", meetingCode);
         model.addAttribute("meetingTitle", meetingTitle != null ? meetingTitle : "Meeting");
         model.addAttribute("isHost", isHost != null ? isHost : false);
+        model.addAttribute("participantCount", meetingService.getLiveParticipantCount(meetingCode));
 
         return "lobby";
     }
@@ -169,6 +180,12 @@ public class UserController {
                 return "signup";
             }
 
+            if (userService.isPasswordTooLong(user.getPassword())) {
+                model.addAttribute("error", "Password is too long.");
+                return "signup";
+            }
+
+            user.setPassword(userService.hashPassword(user.getPassword()));
             user.setRole("USER");
             user.setIsActive(true);
 
@@ -206,8 +223,8 @@ public class UserController {
                     return "loginpage";
                 }
 
-                if (userService.verifyPassword(password, user.getPassword())) {
-                    userService.updateLastLogin(user.getId());
+                if (userService.authenticate(user, password)) {
+                    userService.updateLastLogin(user);
 
                     session.setAttribute("username", user.getUsername());
                     session.setAttribute("userId", user.getId());
@@ -236,10 +253,29 @@ public class UserController {
 
     @GetMapping("/logout")
     public String logout(HttpSession session) {
+        String meetingCode = (String) session.getAttribute("meetingCode");
+        Long userId = (Long) session.getAttribute("userId");
+        if (meetingCode != null && userId != null) {
+            meetingService.leaveMeeting(meetingCode, userId);
+        }
         session.invalidate();
         return "redirect:/loginpage";
     }
 
+    @GetMapping("/leaveMeeting")
+    public String leaveMeeting(HttpSession session) {
+        String meetingCode = (String) session.getAttribute("meetingCode");
+        Long userId = (Long) session.getAttribute("userId");
+        if (meetingCode != null && userId != null) {
+            meetingService.leaveMeeting(meetingCode, userId);
+        }
+        session.removeAttribute("meetingCode");
+        session.removeAttribute("meetingId");
+        session.removeAttribute("meetingTitle");
+        session.removeAttribute("isHost");
+        return "redirect:/index";
+    }
+
     @PostMapping("/forgot-password")
     public String forgotPassword(@RequestParam String email,
             HttpSession session,
@@ -337,10 +373,16 @@ public class UserController {
                 return "reset_password";
             }
 
+            if (userService.isPasswordTooLong(newPassword)) {
+                model.addAttribute("error", "Password is too long.");
+                model.addAttribute("email", email);
+                return "reset_password";
+            }
+
             Optional<User> userOpt = userService.getUserByEmail(email);
             if (userOpt.isPresent()) {
                 User user = userOpt.get();
-                user.setPassword(newPassword);
+                user.setPassword(userService.hashPassword(newPassword));
                 userService.createUser(user);
 
                 session.removeAttribute("resetEmail");
@@ -387,6 +429,8 @@ public class UserController {
                 session.setAttribute("meetingId", meeting.getId());
                 session.setAttribute("isHost", false);
 
+                meetingService.joinMeeting(meeting, userId);
+
                 return "redirect:/lobby";
             } else {
                 model.addAttribute("error", "Invalid meeting code. Please check and try again.");
@@ -412,24 +456,20 @@ public class UserController {
 
             meetingName = userService.sanitizeInput(meetingName);
 
-            String meetingCode = generateMeetingCode(userId);
-
-            Meeting meeting = meetingService.createMeeting(meetingName, meetingCode, userId);
+            Meeting meeting = meetingService.startMeeting(meetingName, userId);
+            String meetingCode = meeting.getMeetingCode();
 
             session.setAttribute("meetingCode", meetingCode);
             session.setAttribute("meetingId", meeting.getId());
             session.setAttribute("meetingTitle", meetingName);
             session.setAttribute("isHost", true);
 
+            meetingService.joinMeeting(meeting, userId);
+
             return "redirect:/lobby";
         } catch (Exception e) {
             model.addAttribute("error", "Failed to start meeting. Please try again.");
             return "index";
         }
     }
-
-    private String generateMeetingCode(Long userId) {
-        String timestamp = Long.toHexString(System.currentTimeMillis()).toUpperCase();
-        return userId.toString() + "-" + timestamp;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.meetclone.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} lists rejected rows by their
+ * 1-based record number, up to a fixed cap; {@code rejected} is the full
+ * count.
+ */
+public record ImportReport(long rows, long imported, long rejected, List<RowError> errors, boolean errorsTruncated,
+        long elapsedMillis) {
+
+    public record RowError(long row, String email, String message) {
+    }
+}
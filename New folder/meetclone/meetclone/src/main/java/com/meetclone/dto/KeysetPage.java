@@ -0,0 +1,10 @@
+package com.meetclone.dto;
+
+import java.util.List;
+
+/**
+ * One page of a newest-first listing. {@code nextCursor} is null on the
+ * last page; otherwise pass it back as {@code cursor} for the next one.
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+}
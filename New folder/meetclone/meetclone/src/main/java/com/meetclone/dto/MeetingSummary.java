@@ -0,0 +1,7 @@
+package com.meetclone.dto;
+
+import java.time.LocalDateTime;
+
+public record MeetingSummary(Long id, String title, String meetingCode, Long hostUserId, Boolean isActive,
+        Integer participantCount, LocalDateTime createdAt, LocalDateTime endedAt) {
+}
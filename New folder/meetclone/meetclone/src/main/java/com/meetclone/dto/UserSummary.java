@@ -0,0 +1,7 @@
+package com.meetclone.dto;
+
+import java.time.LocalDateTime;
+
+public record UserSummary(Long id, String email, String username, String fullName, String role,
+        Boolean isActive, LocalDateTime createdAt, LocalDateTime lastLogin) {
+}
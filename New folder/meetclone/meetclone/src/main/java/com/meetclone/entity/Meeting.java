@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "meetings")
+@Table(name = "meetings", indexes = {
+        @Index(name = "idx_meetings_created", columnList = "createdAt, id"),
+        @Index(name = "idx_meetings_active_created", columnList = "isActive, createdAt, id"),
+        @Index(name = "idx_meetings_active_started", columnList = "isActive, startedAt, id")
+})
 public class Meeting {
 
     @Id
@@ -27,6 +31,8 @@ public class Meeting {
 
     private LocalDateTime endedAt;
 
+    private LocalDateTime lastActivityAt;
+
     @Column(nullable = false)
     private Boolean isActive = true;
 
@@ -36,6 +42,7 @@ public class Meeting {
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
         this.startedAt = LocalDateTime.now();
+        this.lastActivityAt = this.startedAt;
     }
 
     public Long getId() {
@@ -90,6 +97,14 @@ public class Meeting {
         this.endedAt = endedAt;
     }
 
+    public LocalDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(LocalDateTime lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+
     public Boolean getIsActive() {
         return isActive;
     }
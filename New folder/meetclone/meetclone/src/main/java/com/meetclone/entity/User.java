@@ -4,7 +4,12 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created", columnList = "createdAt, id"),
+        @Index(name = "idx_users_active_created", columnList = "isActive, createdAt, id"),
+        @Index(name = "idx_users_role_active_created", columnList = "role, isActive, createdAt, id"),
+        @Index(name = "idx_users_role_created", columnList = "role, createdAt, id")
+})
 public class User {
 
     @Id
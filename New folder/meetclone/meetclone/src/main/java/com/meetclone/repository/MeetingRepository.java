@@ -10,4 +10,6 @@ import java.util.Optional;
 public interface MeetingRepository extends JpaRepository<Meeting, Long> {
     Optional<Meeting> findByMeetingCode(String meetingCode);
     Optional<Meeting> findByIdAndHostUserId(Long id, Long hostUserId);
+
+    long countByIsActiveTrue();
 }
@@ -0,0 +1,60 @@
+package com.meetclone.repository;
+
+import com.meetclone.entity.Notification;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    /** Pending rows that are due, and in-flight rows whose claim lease ran out. */
+    @Query("SELECT n.id FROM Notification n"
+            + " WHERE (n.status = com.meetclone.entity.Notification.Status.PENDING AND n.nextAttemptAt <= :now)"
+            + " OR (n.status = com.meetclone.entity.Notification.Status.IN_FLIGHT AND n.claimedUntil < :now)"
+            + " ORDER BY n.id")
+    List<Long> findClaimableIds(LocalDateTime now, Limit limit);
+
+    /**
+     * Claims the rows among ids that are still claimable. The WHERE clause is
+     * re-checked per row by the UPDATE, so of two nodes racing for a row only
+     * one sees it change.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = com.meetclone.entity.Notification.Status.IN_FLIGHT,"
+            + " n.claimToken = :token, n.claimedUntil = :until WHERE n.id IN :ids"
+            + " AND ((n.status = com.meetclone.entity.Notification.Status.PENDING AND n.nextAttemptAt <= :now)"
+            + " OR (n.status = com.meetclone.entity.Notification.Status.IN_FLIGHT AND n.claimedUntil < :now))")
+    int claim(Collection<Long> ids, String token, LocalDateTime until, LocalDateTime now);
+
+    List<Notification> findByClaimTokenOrderByIdAsc(String token);
+
+    /**
+     * Writes the outcome of a send and releases the claim, but only while the
+     * row still carries token. If the lease ran out and another node claimed
+     * the row meanwhile, that node owns it and nothing is changed.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = :status, n.attempts = :attempts, n.sentAt = :sentAt,"
+            + " n.nextAttemptAt = :nextAttemptAt, n.lastError = :lastError, n.secret = :secret,"
+            + " n.claimToken = NULL, n.claimedUntil = NULL WHERE n.id = :id AND n.claimToken = :token")
+    int complete(Long id, String token, Notification.Status status, int attempts, LocalDateTime sentAt,
+            LocalDateTime nextAttemptAt, String lastError, String secret);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.status = :status AND n.createdAt < :before")
+    int deleteByStatusCreatedBefore(Notification.Status status, LocalDateTime before);
+
+    long countByStatus(Notification.Status status);
+
+    @Query("SELECT MIN(n.createdAt) FROM Notification n WHERE n.status = :status")
+    LocalDateTime findOldestCreatedAt(Notification.Status status);
+}
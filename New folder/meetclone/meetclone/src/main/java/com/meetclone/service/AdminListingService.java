@@ -0,0 +1,225 @@
+package com.meetclone.service;
+
+import com.meetclone.dto.KeysetPage;
+import com.meetclone.dto.MeetingSummary;
+import com.meetclone.dto.UserSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Admin listings of users and meetings, newest first, with keyset (seek)
+ * pagination on (created_at, id). Each page is a single range scan on an
+ * index that leads with the filter columns, so a deep page costs the same
+ * as the first. Rows are read straight into DTO records; no entities are
+ * loaded into the persistence context.
+ */
+@Service
+public class AdminListingService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
+    private static final String USER_COLUMNS = "id, email, username, full_name, role, is_active, created_at, last_login";
+
+    private static final String MEETING_COLUMNS = "id, title, meeting_code, host_user_id, is_active, participant_count, created_at, ended_at";
+
+    private static final RowMapper<UserSummary> USER_ROW = (rs, i) -> new UserSummary(
+            rs.getLong("id"),
+            rs.getString("email"),
+            rs.getString("username"),
+            rs.getString("full_name"),
+            rs.getString("role"),
+            rs.getObject("is_active", Boolean.class),
+            toLocal(rs.getTimestamp("created_at")),
+            toLocal(rs.getTimestamp("last_login")));
+
+    private static final RowMapper<MeetingSummary> MEETING_ROW = (rs, i) -> new MeetingSummary(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("meeting_code"),
+            rs.getLong("host_user_id"),
+            rs.getObject("is_active", Boolean.class),
+            rs.getObject("participant_count", Integer.class),
+            toLocal(rs.getTimestamp("created_at")),
+            toLocal(rs.getTimestamp("ended_at")));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public KeysetPage<UserSummary> listUsers(String role, Boolean active, String cursor, int limit) {
+        return page("users", USER_COLUMNS, userFilters(role, active), Cursor.decode(cursor), clamp(limit), USER_ROW,
+                u -> new Cursor(u.createdAt(), u.id()));
+    }
+
+    public KeysetPage<MeetingSummary> listMeetings(Boolean active, String cursor, int limit) {
+        return page("meetings", MEETING_COLUMNS, meetingFilters(active), Cursor.decode(cursor), clamp(limit),
+                MEETING_ROW, m -> new Cursor(m.createdAt(), m.id()));
+    }
+
+    public void exportUsers(String role, Boolean active, String format, OutputStream out) throws IOException {
+        export("users", USER_COLUMNS, userFilters(role, active), USER_ROW, u -> new Cursor(u.createdAt(), u.id()),
+                format, out, u -> new Object[] { u.id(), u.email(), u.username(), u.fullName(), u.role(),
+                        u.isActive(), u.createdAt(), u.lastLogin() });
+    }
+
+    public void exportMeetings(Boolean active, String format, OutputStream out) throws IOException {
+        export("meetings", MEETING_COLUMNS, meetingFilters(active), MEETING_ROW,
+                m -> new Cursor(m.createdAt(), m.id()), format, out, m -> new Object[] { m.id(), m.title(),
+                        m.meetingCode(), m.hostUserId(), m.isActive(), m.participantCount(), m.createdAt(),
+                        m.endedAt() });
+    }
+
+    private static Filters userFilters(String role, Boolean active) {
+        Filters filters = new Filters();
+        if (role != null && !role.isBlank()) {
+            filters.add("role = ?", role.trim().toUpperCase());
+        }
+        if (active != null) {
+            filters.add("is_active = ?", active);
+        }
+        return filters;
+    }
+
+    private static Filters meetingFilters(Boolean active) {
+        Filters filters = new Filters();
+        if (active != null) {
+            filters.add("is_active = ?", active);
+        }
+        return filters;
+    }
+
+    private <T> KeysetPage<T> page(String table, String columns, Filters filters, Cursor after, int limit,
+            RowMapper<T> mapper, Function<T, Cursor> keyOf) {
+        List<String> predicates = new ArrayList<>(filters.predicates);
+        List<Object> args = new ArrayList<>(filters.args);
+        if (after != null) {
+            Timestamp createdAt = Timestamp.valueOf(after.createdAt());
+            predicates.add("(created_at < ? OR (created_at = ? AND id < ?))");
+            args.add(createdAt);
+            args.add(createdAt);
+            args.add(after.id());
+        }
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM ").append(table);
+        if (!predicates.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(limit + 1);
+
+        List<T> rows = jdbcTemplate.query(sql.toString(), mapper, args.toArray());
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, keyOf.apply(items.get(limit - 1)).encode());
+    }
+
+    /**
+     * Walks the listing page by page so no single query or connection is
+     * held open for the whole export, writing each row as it arrives.
+     */
+    private <T> void export(String table, String columns, Filters filters, RowMapper<T> mapper,
+            Function<T, Cursor> keyOf, String format, OutputStream out, Function<T, Object[]> csvRow)
+            throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        if (csv) {
+            writer.write(columns.replace(" ", ""));
+            writer.write('\n');
+        }
+        Cursor after = null;
+        do {
+            KeysetPage<T> page = page(table, columns, filters, after, EXPORT_PAGE_SIZE, mapper, keyOf);
+            for (T row : page.items()) {
+                if (csv) {
+                    writeCsv(writer, csvRow.apply(row));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+            }
+            writer.flush();
+            after = page.nextCursor() == null ? null : keyOf.apply(page.items().get(page.items().size() - 1));
+        } while (after != null);
+    }
+
+    private static void writeCsv(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                    || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+    }
+
+    private static LocalDateTime toLocal(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static final class Filters {
+        private final List<String> predicates = new ArrayList<>();
+        private final List<Object> args = new ArrayList<>();
+
+        private void add(String predicate, Object arg) {
+            predicates.add(predicate);
+            args.add(arg);
+        }
+    }
+
+    record Cursor(LocalDateTime createdAt, long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int bar = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, bar)), Long.parseLong(raw.substring(bar + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.meetclone.service;
+
+import com.meetclone.repository.MeetingRepository;
+import com.meetclone.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admin dashboard aggregates kept up to date from signup, login, start,
+ * join and end events. The tables are counted once at startup; after that
+ * readers only see the last published {@link Snapshot}, so serving the
+ * dashboard never touches the database.
+ * <p>
+ * Logins today counts distinct users, as the seed query does: a login only
+ * counts if the user's previous login was before today and they have not
+ * been counted since startup. No table records past joins, so the average
+ * participants per meeting covers only meetings started since startup.
+ */
+@Service
+public class AdminStatsService {
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private MeetingRepository meetingRepo;
+
+    @Autowired
+    private PresenceRegistry presenceRegistry;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong activeMeetings = new AtomicLong();
+    private final AtomicLong meetingsStarted = new AtomicLong();
+    private final AtomicLong meetingsStartedSinceStartup = new AtomicLong();
+    private final LongAdder participantJoins = new LongAdder();
+    private final AtomicReference<DailyCount> loginsToday = new AtomicReference<>(new DailyCount(LocalDate.now()));
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    public void seed() {
+        LocalDate today = LocalDate.now();
+        totalUsers.set(userRepo.count());
+        activeMeetings.set(meetingRepo.countByIsActiveTrue());
+        meetingsStarted.set(meetingRepo.count());
+        meetingsStartedSinceStartup.set(0);
+        participantJoins.reset();
+        DailyCount logins = new DailyCount(today);
+        logins.count.add(userRepo.countByLastLoginGreaterThanEqual(today.atStartOfDay()));
+        loginsToday.set(logins);
+        publish();
+    }
+
+    public void userRegistered() {
+        totalUsers.incrementAndGet();
+    }
+
+    public void usersImported(int count) {
+        totalUsers.addAndGet(count);
+    }
+
+    /**
+     * @param previousLogin the user's last login as stored before this one
+     */
+    public void userLoggedIn(Long userId, LocalDateTime previousLogin) {
+        LocalDate today = LocalDate.now();
+        if (previousLogin != null && !previousLogin.toLocalDate().isBefore(today)) {
+            return;
+        }
+        while (true) {
+            DailyCount current = loginsToday.get();
+            if (current.day.equals(today)) {
+                if (current.users.add(userId)) {
+                    current.count.increment();
+                }
+                return;
+            }
+            loginsToday.compareAndSet(current, new DailyCount(today));
+        }
+    }
+
+    public void meetingStarted() {
+        meetingsStarted.incrementAndGet();
+        meetingsStartedSinceStartup.incrementAndGet();
+        activeMeetings.incrementAndGet();
+    }
+
+    public void meetingsEnded(int count) {
+        activeMeetings.updateAndGet(active -> Math.max(0, active - count));
+    }
+
+    public void participantJoined() {
+        participantJoins.increment();
+    }
+
+    public long getTotalUsers() {
+        return totalUsers.get();
+    }
+
+    public long getActiveMeetings() {
+        return activeMeetings.get();
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${meetclone.admin-stats.snapshot-interval-ms:10000}")
+    public void publish() {
+        DailyCount logins = loginsToday.get();
+        long started = meetingsStarted.get();
+        long startedSinceStartup = meetingsStartedSinceStartup.get();
+        long joins = participantJoins.sum();
+        double average = startedSinceStartup == 0 ? 0 : Math.round(joins * 10.0 / startedSinceStartup) / 10.0;
+        snapshot = new Snapshot(
+                totalUsers.get(),
+                activeMeetings.get(),
+                presenceRegistry.getLiveMeetingCount(),
+                presenceRegistry.getLiveParticipantCount(),
+                logins.day.equals(LocalDate.now()) ? logins.count.sum() : 0,
+                started,
+                average,
+                LocalDateTime.now());
+    }
+
+    public record Snapshot(long totalUsers, long activeMeetings, long liveMeetings, long liveParticipants,
+            long loginsToday, long meetingsStarted, double averageParticipants, LocalDateTime generatedAt) {
+    }
+
+    private static final class DailyCount {
+        private final LocalDate day;
+        private final LongAdder count = new LongAdder();
+        // Users counted by a login event since startup; seeded users are not listed.
+        private final Set<Long> users = ConcurrentHashMap.newKeySet();
+
+        private DailyCount(LocalDate day) {
+            this.day = day;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.meetclone.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only chat history, one directory of fixed-size memory-mapped
+ * segments per meeting. A record is [int length][long seq][payload]; a zero
+ * length marks the end of a segment. Segment files are named after the first
+ * sequence number they hold, so replay can seek to the right file without an
+ * index.
+ * <p>
+ * Only {@link #append} opens a log for writing. Replay and getLastSeq read
+ * segment files through plain channel reads and never create a log, so
+ * history requests for ended meetings leave no mapping or directory behind.
+ * <p>
+ * A meeting's directory is deleted once its newest segment has not been
+ * written for meetclone.chat-log.retention, which in practice is that long
+ * after the meeting ended. Segments are preallocated to segment-bytes, so
+ * with retention 0 (keep forever) the directory has to be cleaned up
+ * externally.
+ */
+@Component
+public class ChatLogStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatLogStore.class);
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final Pattern SAFE_DIR_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    @Value("${meetclone.chat-log.dir:data/chat-log}")
+    private Path baseDir;
+
+    @Value("${meetclone.chat-log.segment-bytes:4194304}")
+    private int segmentBytes;
+
+    @Value("${meetclone.chat-log.idle-close-minutes:10}")
+    private long idleCloseMinutes;
+
+    @Value("${meetclone.chat-log.retention:30d}")
+    private Duration retention = Duration.ofDays(30);
+
+    private final Map<String, MeetingLog> logs = new ConcurrentHashMap<>();
+
+    public long append(String meetingCode, LongFunction<byte[]> encoder) {
+        MeetingLog meetingLog = open(meetingCode);
+        meetingLog.lock.lock();
+        while (meetingLog.closed) {
+            meetingLog.lock.unlock();
+            meetingLog = open(meetingCode);
+            meetingLog.lock.lock();
+        }
+        try {
+            long seq = meetingLog.lastSeq + 1;
+            byte[] payload = encoder.apply(seq);
+            if (HEADER_BYTES + payload.length + Integer.BYTES > segmentBytes) {
+                throw new IllegalArgumentException("Chat record of " + payload.length + " bytes exceeds segment size");
+            }
+            if (meetingLog.active == null || meetingLog.active.remaining() < HEADER_BYTES + payload.length + Integer.BYTES) {
+                meetingLog.roll(seq);
+            }
+            MappedByteBuffer buf = meetingLog.active;
+            int start = buf.position();
+            buf.position(start + Integer.BYTES);
+            buf.putLong(seq);
+            buf.put(payload);
+            // Length goes in last so a reader never sees a half-written record.
+            buf.putInt(start, payload.length);
+            meetingLog.lastSeq = seq;
+            meetingLog.lastAppendNanos = System.nanoTime();
+            meetingLog.dirty = true;
+            return seq;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            meetingLog.lock.unlock();
+        }
+    }
+
+    public long getLastSeq(String meetingCode) throws IOException {
+        MeetingLog meetingLog = logs.get(meetingCode);
+        if (meetingLog != null) {
+            return meetingLog.lastSeq;
+        }
+        Path dir = baseDir.resolve(dirName(meetingCode));
+        long[] bases = listSegments(dir);
+        if (bases.length == 0) {
+            return 0;
+        }
+        long base = bases[bases.length - 1];
+        long[] last = { base - 1 };
+        readSegment(segmentPath(dir, base), (seq, in, length) -> {
+            last[0] = seq;
+            in.skipNBytes(length);
+            return true;
+        });
+        return last[0];
+    }
+
+    /**
+     * Writes every record with seq >= fromSeq as one line, up to limit records.
+     * Streams each segment through a small buffer, so memory use does not
+     * depend on history length. Returns the number of records written.
+     */
+    public long replay(String meetingCode, long fromSeq, long limit, OutputStream out) throws IOException {
+        Path dir = baseDir.resolve(dirName(meetingCode));
+        MeetingLog meetingLog = logs.get(meetingCode);
+        // An open log bounds the read to what it had written when we started;
+        // a closed one has no writer, so its files end where the records do.
+        long upTo = meetingLog != null ? meetingLog.lastSeq : Long.MAX_VALUE;
+        long[] bases = meetingLog != null ? meetingLog.segmentBases : listSegments(dir);
+        if (upTo < fromSeq || bases.length == 0) {
+            return 0;
+        }
+
+        int first = Arrays.binarySearch(bases, Math.max(fromSeq, 1));
+        if (first < 0) {
+            first = Math.max(0, -first - 2);
+        }
+
+        byte[][] scratch = { new byte[8192] };
+        long[] written = { 0 };
+        boolean[] done = { false };
+        for (int i = first; i < bases.length && !done[0] && written[0] < limit; i++) {
+            readSegment(segmentPath(dir, bases[i]), (seq, in, length) -> {
+                if (seq > upTo) {
+                    done[0] = true;
+                    return false;
+                }
+                if (seq < fromSeq) {
+                    in.skipNBytes(length);
+                    return true;
+                }
+                if (scratch[0].length < length) {
+                    scratch[0] = new byte[length];
+                }
+                in.readFully(scratch[0], 0, length);
+                out.write(scratch[0], 0, length);
+                out.write('\n');
+                written[0]++;
+                // Anything past the snapshot may still be mid-write.
+                if (seq == upTo || written[0] >= limit) {
+                    done[0] = true;
+                    return false;
+                }
+                return true;
+            });
+        }
+        return written[0];
+    }
+
+    /**
+     * Reads records in order until the visitor returns false or the segment
+     * ends: a zero length, or a record running past the end of the file.
+     * The visitor must consume exactly length payload bytes when it returns
+     * true.
+     */
+    private static void readSegment(Path path, RecordVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel),
+                        READ_BUFFER_BYTES))) {
+            long remaining = channel.size();
+            while (remaining >= HEADER_BYTES) {
+                int length = in.readInt();
+                if (length <= 0 || length > remaining - HEADER_BYTES) {
+                    return;
+                }
+                long seq = in.readLong();
+                if (!visitor.visit(seq, in, length)) {
+                    return;
+                }
+                remaining -= HEADER_BYTES + length;
+            }
+        }
+    }
+
+    private static long[] listSegments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return new long[0];
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .mapToLong(name -> Long.parseLong(name, 0, name.length() - SEGMENT_SUFFIX.length(), 10))
+                    .sorted()
+                    .toArray();
+        }
+    }
+
+    private static Path segmentPath(Path dir, long base) {
+        return dir.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+    }
+
+    public void close(String meetingCode) {
+        MeetingLog meetingLog = logs.get(meetingCode);
+        if (meetingLog != null) {
+            meetingLog.close();
+            logs.remove(meetingCode, meetingLog);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${meetclone.chat-log.flush-interval-ms:1000}")
+    public void flush() {
+        long idleNanos = TimeUnit.MINUTES.toNanos(idleCloseMinutes);
+        long now = System.nanoTime();
+        for (Map.Entry<String, MeetingLog> entry : logs.entrySet()) {
+            MeetingLog meetingLog = entry.getValue();
+            meetingLog.force();
+            if (now - meetingLog.lastAppendNanos > idleNanos) {
+                meetingLog.close();
+                logs.remove(entry.getKey(), meetingLog);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${meetclone.chat-log.retention-check-interval-ms:3600000}")
+    public void deleteExpired() {
+        if (retention.isZero() || retention.isNegative()) {
+            return;
+        }
+        try {
+            int deleted = deleteWrittenBefore(Instant.now().minus(retention));
+            if (deleted > 0) {
+                log.info("Deleted {} chat logs past retention", deleted);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Chat log retention sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /** Deletes the logs whose newest segment was last written before cutoff, skipping logs open for writing. */
+    int deleteWrittenBefore(Instant cutoff) throws IOException {
+        if (!Files.isDirectory(baseDir)) {
+            return 0;
+        }
+        List<Path> dirs;
+        try (Stream<Path> children = Files.list(baseDir)) {
+            dirs = children.filter(Files::isDirectory).toList();
+        }
+        int deleted = 0;
+        for (Path dir : dirs) {
+            long[] bases = listSegments(dir);
+            if (bases.length > 0 && !Files.getLastModifiedTime(segmentPath(dir, bases[bases.length - 1]))
+                    .toInstant().isBefore(cutoff)) {
+                continue;
+            }
+            boolean[] removed = new boolean[1];
+            // Holding the key keeps append from reopening the log mid-delete;
+            // an open log has a writer, so it is left alone.
+            logs.compute(meetingCode(dir.getFileName().toString()), (code, open) -> {
+                if (open == null) {
+                    removed[0] = deleteDirectory(dir);
+                }
+                return open;
+            });
+            if (removed[0]) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private static boolean deleteDirectory(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+            return Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        for (String meetingCode : new ArrayList<>(logs.keySet())) {
+            close(meetingCode);
+        }
+    }
+
+    public int getOpenLogCount() {
+        return logs.size();
+    }
+
+    private MeetingLog open(String meetingCode) {
+        return logs.computeIfAbsent(meetingCode, code -> {
+            try {
+                return new MeetingLog(baseDir.resolve(dirName(code)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String dirName(String meetingCode) {
+        if (SAFE_DIR_NAME.matcher(meetingCode).matches()) {
+            return meetingCode;
+        }
+        return "+" + Base64.getUrlEncoder().withoutPadding().encodeToString(meetingCode.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String meetingCode(String dirName) {
+        if (dirName.startsWith("+")) {
+            return new String(Base64.getUrlDecoder().decode(dirName.substring(1)), StandardCharsets.UTF_8);
+        }
+        return dirName;
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        boolean visit(long seq, DataInputStream in, int length) throws IOException;
+    }
+
+    private final class MeetingLog {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Path dir;
+        private volatile long[] segmentBases;
+        private volatile long lastSeq;
+        private volatile long lastAppendNanos = System.nanoTime();
+        private volatile boolean dirty;
+        private boolean closed;
+        private MappedByteBuffer active;
+
+        private MeetingLog(Path dir) throws IOException {
+            this.dir = dir;
+            Files.createDirectories(dir);
+            segmentBases = listSegments(dir);
+            if (segmentBases.length > 0) {
+                recover(segmentBases[segmentBases.length - 1]);
+            }
+        }
+
+        private void recover(long base) throws IOException {
+            active = map(base);
+            lastSeq = base - 1;
+            while (active.remaining() >= HEADER_BYTES) {
+                int start = active.position();
+                int length = active.getInt();
+                if (length <= 0 || length > active.remaining() - Long.BYTES) {
+                    active.position(start);
+                    break;
+                }
+                lastSeq = active.getLong();
+                active.position(active.position() + length);
+            }
+        }
+
+        private void roll(long nextSeq) throws IOException {
+            if (active != null) {
+                active.force();
+            }
+            active = map(nextSeq);
+            long[] bases = Arrays.copyOf(segmentBases, segmentBases.length + 1);
+            bases[bases.length - 1] = nextSeq;
+            segmentBases = bases;
+        }
+
+        private MappedByteBuffer map(long base) throws IOException {
+            try (FileChannel channel = FileChannel.open(segmentPath(base),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            }
+        }
+
+        private Path segmentPath(long base) {
+            return ChatLogStore.segmentPath(dir, base);
+        }
+
+        private void force() {
+            if (!dirty) {
+                return;
+            }
+            lock.lock();
+            try {
+                dirty = false;
+                if (active != null) {
+                    active.force();
+                }
+            } catch (UncheckedIOException e) {
+                log.warn("Failed to flush chat log {}: {}", dir, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void close() {
+            force();
+            lock.lock();
+            try {
+                closed = true;
+                active = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.meetclone.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.TextMessage;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ChatRelayService {
+
+    public static final int MAX_MESSAGE_LENGTH = 2000;
+
+    private static final Logger log = LoggerFactory.getLogger(ChatRelayService.class);
+
+    @Autowired
+    private RoomShardExecutor shards;
+
+    @Autowired
+    private ChatLogStore chatLogStore;
+
+    @Autowired
+    private ChatSearchIndex chatSearchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Members are only touched on the room's shard worker.
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+
+    public void join(MeetingConnection connection) {
+        String code = connection.getMeetingCode();
+        shards.execute(code, () -> rooms.computeIfAbsent(code, k -> new Room()).members.add(connection));
+    }
+
+    public void leave(MeetingConnection connection) {
+        String code = connection.getMeetingCode();
+        shards.execute(code, () -> {
+            Room room = rooms.get(code);
+            if (room != null) {
+                room.members.remove(connection);
+                if (room.members.isEmpty()) {
+                    rooms.remove(code);
+                }
+            }
+        });
+    }
+
+    public boolean publish(MeetingConnection from, String text) {
+        if (text == null) {
+            return false;
+        }
+        String trimmed = text.trim();
+        if (trimmed.isEmpty() || trimmed.length() > MAX_MESSAGE_LENGTH) {
+            return false;
+        }
+
+        String code = from.getMeetingCode();
+        long timestamp = System.currentTimeMillis();
+        shards.execute(code, () -> {
+            Room room = rooms.get(code);
+            if (room == null) {
+                return;
+            }
+            byte[][] encoded = new byte[1][];
+            long seq;
+            try {
+                seq = chatLogStore.append(code, s -> encoded[0] = toJson(s, from, trimmed, timestamp));
+            } catch (RuntimeException e) {
+                log.warn("Chat message for meeting {} was not persisted: {}", code, e.getMessage());
+                seq = 0;
+                encoded[0] = toJson(0, from, trimmed, timestamp);
+            }
+            chatSearchIndex.add(code, seq, trimmed, encoded[0]);
+            TextMessage frame = new TextMessage(encoded[0]);
+            for (MeetingConnection member : room.members) {
+                member.send(frame);
+            }
+        });
+        return true;
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    private byte[] toJson(long seq, MeetingConnection from, String text, long timestamp) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("type", "chat");
+        node.put("seq", seq);
+        node.put("userId", from.getUserId());
+        node.put("sender", from.getUsername());
+        node.put("text", text);
+        node.put("timestamp", timestamp);
+        return objectMapper.writeValueAsBytes(node);
+    }
+
+    private static final class Room {
+        private final List<MeetingConnection> members = new ArrayList<>();
+    }
+}
@@ -0,0 +1,610 @@
+package com.meetclone.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over each meeting's chat, fed by
+ * {@link ChatRelayService#publish} on the room's shard worker. Messages get
+ * dense doc ids in arrival order. Each term's postings are one byte array of
+ * varints: the doc id delta, the number of positions, then the position
+ * deltas. Appending a message therefore only ever writes at the tail.
+ * <p>
+ * A query is a list of clauses that must all match: a plain term, a prefix
+ * ending in '*', or a quoted phrase. Results come newest first.
+ * <p>
+ * A meeting's index starts with its first message. A meeting that already
+ * has history but no index, after a restart or idle eviction, is rebuilt
+ * from the chat log by the next search rather than on the shard worker.
+ * The rebuild runs outside the index map, so other meetings are unaffected,
+ * and messages that arrive meanwhile are queued on the index rather than
+ * making the shard worker wait. The index is dropped when the meeting ends.
+ */
+@Component
+public class ChatSearchIndex {
+
+    public static final int MAX_QUERY_CLAUSES = 8;
+    public static final int MAX_TERM_LENGTH = 64;
+
+    private static final Logger log = LoggerFactory.getLogger(ChatSearchIndex.class);
+
+    @Autowired
+    private ChatLogStore chatLogStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${meetclone.chat-search.idle-evict-minutes:30}")
+    private long idleEvictMinutes;
+
+    private final Map<String, MeetingIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes one chat frame, given the seq the log assigned it (0 if it was
+     * not persisted). Messages a rebuild already picked up from the log are
+     * skipped.
+     */
+    public void add(String meetingCode, long seq, String text, byte[] frame) {
+        MeetingIndex index = indexes.get(meetingCode);
+        if (index == null) {
+            if (seq != 1) {
+                return;
+            }
+            MeetingIndex created = new MeetingIndex(false);
+            index = indexes.putIfAbsent(meetingCode, created);
+            if (index == null) {
+                index = created;
+            }
+        }
+        index.pending.add(new PendingMessage(seq, text, frame));
+        // Never waits: while the index is rebuilding or being read the
+        // message stays queued for the rebuild or the next search to apply.
+        if (!index.building && index.lock.writeLock().tryLock()) {
+            try {
+                index.drainPending();
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the frames of up to limit matching messages, newest first,
+     * skipping messages with seq >= beforeSeq.
+     */
+    public List<byte[]> search(String meetingCode, String query, long beforeSeq, int limit) {
+        List<Clause> clauses = parse(query);
+        if (clauses.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        MeetingIndex index = open(meetingCode);
+        if (!index.pending.isEmpty()) {
+            index.lock.writeLock().lock();
+            try {
+                index.drainPending();
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        }
+        index.lock.readLock().lock();
+        try {
+            index.lastAccessNanos = System.nanoTime();
+            int[] docs = null;
+            for (Clause clause : clauses) {
+                int[] matches = index.match(clause);
+                docs = docs == null ? matches : intersect(docs, matches);
+                if (docs.length == 0) {
+                    return List.of();
+                }
+            }
+            List<byte[]> results = new ArrayList<>(Math.min(limit, docs.length));
+            for (int i = docs.length - 1; i >= 0 && results.size() < limit; i--) {
+                long seq = index.seqs[docs[i]];
+                if (seq == 0 || seq < beforeSeq) {
+                    results.add(index.frames[docs[i]]);
+                }
+            }
+            return results;
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    public void evict(String meetingCode) {
+        indexes.remove(meetingCode);
+    }
+
+    @Scheduled(fixedDelayString = "${meetclone.chat-search.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long idleNanos = TimeUnit.MINUTES.toNanos(idleEvictMinutes);
+        long now = System.nanoTime();
+        indexes.values().removeIf(index -> now - index.lastAccessNanos > idleNanos);
+    }
+
+    public int getIndexCount() {
+        return indexes.size();
+    }
+
+    private MeetingIndex open(String meetingCode) {
+        MeetingIndex index = indexes.get(meetingCode);
+        if (index == null) {
+            MeetingIndex placeholder = new MeetingIndex(true);
+            index = indexes.putIfAbsent(meetingCode, placeholder);
+            if (index == null) {
+                rebuild(meetingCode, placeholder);
+                return placeholder;
+            }
+        }
+        if (index.building) {
+            try {
+                index.built.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Replays the chat log into a placeholder that is already in the map,
+     * then applies whatever add queued on it meanwhile. Searches for the
+     * meeting wait on {@link MeetingIndex#built}; on failure the placeholder
+     * is removed so the next search tries again.
+     */
+    private void rebuild(String meetingCode, MeetingIndex index) {
+        try {
+            replay(meetingCode, index);
+        } catch (RuntimeException e) {
+            indexes.remove(meetingCode, index);
+            index.built.completeExceptionally(e);
+            throw e;
+        }
+        index.lock.writeLock().lock();
+        try {
+            index.drainPending();
+            index.building = false;
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+        index.built.complete(null);
+    }
+
+    private void replay(String meetingCode, MeetingIndex index) {
+        try {
+            if (chatLogStore.getLastSeq(meetingCode) == 0) {
+                return;
+            }
+            chatLogStore.replay(meetingCode, 1, Long.MAX_VALUE, new LineSplitter(line -> {
+                try {
+                    JsonNode node = objectMapper.readTree(line);
+                    long seq = node.path("seq").asLong(0);
+                    String text = node.path("text").asString(null);
+                    if (seq > index.lastSeq && text != null) {
+                        index.add(seq, text, line);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Skipping unreadable chat record in meeting {}: {}", meetingCode, e.getMessage());
+                }
+            }));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static List<Clause> parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query == null) {
+            return clauses;
+        }
+        int i = 0;
+        int n = query.length();
+        while (i < n && clauses.size() < MAX_QUERY_CLAUSES) {
+            char c = query.charAt(i);
+            if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) {
+                    end = n;
+                }
+                List<String> terms = tokenize(query.substring(i + 1, end));
+                if (!terms.isEmpty()) {
+                    clauses.add(new Clause(terms, false));
+                }
+                i = end + 1;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else {
+                int end = i;
+                while (end < n && !Character.isWhitespace(query.charAt(end)) && query.charAt(end) != '"') {
+                    end++;
+                }
+                String word = query.substring(i, end);
+                boolean prefix = word.endsWith("*");
+                // Punctuation inside a word splits it into several terms,
+                // which are then only matched as a phrase, as in the text.
+                List<String> terms = tokenize(word);
+                if (!terms.isEmpty()) {
+                    clauses.add(new Clause(terms, prefix && terms.size() == 1));
+                }
+                i = end;
+            }
+        }
+        return clauses;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            int cp = text.codePointAt(i);
+            if (!Character.isLetterOrDigit(cp)) {
+                i += Character.charCount(cp);
+                continue;
+            }
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(cp = text.codePointAt(i))) {
+                i += Character.charCount(cp);
+            }
+            if (i - start <= MAX_TERM_LENGTH) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            }
+        }
+        return terms;
+    }
+
+    static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, k);
+    }
+
+    record Clause(List<String> terms, boolean prefix) {
+    }
+
+    private record PendingMessage(long seq, String text, byte[] frame) {
+    }
+
+    private static final class MeetingIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Queue<PendingMessage> pending = new ConcurrentLinkedQueue<>();
+        private final CompletableFuture<Void> built = new CompletableFuture<>();
+        private volatile boolean building;
+        private final NavigableMap<String, Postings> terms = new TreeMap<>();
+        private long[] seqs = new long[64];
+        private byte[][] frames = new byte[64][];
+        private int docCount;
+        private long lastSeq;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private MeetingIndex(boolean building) {
+            this.building = building;
+            if (!building) {
+                built.complete(null);
+            }
+        }
+
+        /** Applies queued messages, skipping those a rebuild already read from the log. Needs the write lock. */
+        private void drainPending() {
+            PendingMessage message;
+            while ((message = pending.poll()) != null) {
+                if (message.seq() == 0 || message.seq() > lastSeq) {
+                    add(message.seq(), message.text(), message.frame());
+                }
+            }
+        }
+
+        private void add(long seq, String text, byte[] frame) {
+            int doc = docCount++;
+            if (doc == seqs.length) {
+                seqs = Arrays.copyOf(seqs, doc * 2);
+                frames = Arrays.copyOf(frames, doc * 2);
+            }
+            seqs[doc] = seq;
+            frames[doc] = frame;
+            if (seq > lastSeq) {
+                lastSeq = seq;
+            }
+            lastAccessNanos = System.nanoTime();
+
+            Map<String, int[]> positions = new HashMap<>();
+            List<String> tokens = tokenize(text);
+            for (int pos = 0; pos < tokens.size(); pos++) {
+                int[] list = positions.get(tokens.get(pos));
+                if (list == null) {
+                    positions.put(tokens.get(pos), new int[] {1, pos});
+                } else {
+                    if (list[0] + 1 == list.length) {
+                        list = Arrays.copyOf(list, list.length * 2);
+                        positions.put(tokens.get(pos), list);
+                    }
+                    list[++list[0]] = pos;
+                }
+            }
+            for (Map.Entry<String, int[]> entry : positions.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), k -> new Postings()).append(doc, entry.getValue());
+            }
+        }
+
+        private int[] match(Clause clause) {
+            if (clause.prefix()) {
+                String prefix = clause.terms().get(0);
+                BitSet docs = new BitSet(docCount);
+                for (Postings postings : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                    postings.collectDocs(docs);
+                }
+                return docs.stream().toArray();
+            }
+            List<String> phrase = clause.terms();
+            Postings[] postings = new Postings[phrase.size()];
+            for (int i = 0; i < postings.length; i++) {
+                postings[i] = terms.get(phrase.get(i));
+                if (postings[i] == null) {
+                    return new int[0];
+                }
+            }
+            if (postings.length == 1) {
+                BitSet docs = new BitSet(docCount);
+                postings[0].collectDocs(docs);
+                return docs.stream().toArray();
+            }
+            return matchPhrase(postings);
+        }
+
+        private int[] matchPhrase(Postings[] postings) {
+            Cursor[] cursors = new Cursor[postings.length];
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = new Cursor(postings[i]);
+                if (!cursors[i].next()) {
+                    return new int[0];
+                }
+            }
+            int[] out = new int[16];
+            int count = 0;
+            int target = cursors[0].doc;
+            int i = 1;
+            // Leapfrog: move each cursor up to the highest doc seen until all agree.
+            while (true) {
+                if (i == cursors.length) {
+                    if (adjacent(cursors)) {
+                        if (count == out.length) {
+                            out = Arrays.copyOf(out, count * 2);
+                        }
+                        out[count++] = target;
+                    }
+                    if (!cursors[0].next()) {
+                        return Arrays.copyOf(out, count);
+                    }
+                    target = cursors[0].doc;
+                    i = 1;
+                    continue;
+                }
+                if (!cursors[i].advanceTo(target)) {
+                    return Arrays.copyOf(out, count);
+                }
+                if (cursors[i].doc > target) {
+                    target = cursors[i].doc;
+                    if (!cursors[0].advanceTo(target)) {
+                        return Arrays.copyOf(out, count);
+                    }
+                    target = cursors[0].doc;
+                    i = 1;
+                    continue;
+                }
+                i++;
+            }
+        }
+
+        private static boolean adjacent(Cursor[] cursors) {
+            int[] first = cursors[0].positions();
+            for (int p = 1; p <= first[0]; p++) {
+                int start = first[p];
+                boolean match = true;
+                for (int i = 1; i < cursors.length && match; i++) {
+                    int[] next = cursors[i].positions();
+                    match = Arrays.binarySearch(next, 1, next[0] + 1, start + i) >= 0;
+                }
+                if (match) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Varint-encoded postings for one term: per doc, the delta from the
+     * previous doc, the number of positions, then the position deltas.
+     */
+    private static final class Postings {
+        private byte[] data = new byte[8];
+        private int length;
+        private int lastDoc = -1;
+
+        /** positions[0] is the count, followed by that many ascending positions. */
+        private void append(int doc, int[] positions) {
+            writeVarint(doc - lastDoc);
+            writeVarint(positions[0]);
+            int previous = 0;
+            for (int i = 1; i <= positions[0]; i++) {
+                writeVarint(positions[i] - previous);
+                previous = positions[i];
+            }
+            lastDoc = doc;
+        }
+
+        private void collectDocs(BitSet docs) {
+            Cursor cursor = new Cursor(this);
+            while (cursor.next()) {
+                docs.set(cursor.doc);
+            }
+        }
+
+        private void writeVarint(int value) {
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+            }
+            while ((value & ~0x7F) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+    }
+
+    /**
+     * Walks one term's postings. Positions are decoded only for docs that
+     * reach the phrase check; otherwise they are skipped over.
+     */
+    private static final class Cursor {
+        private final byte[] data;
+        private final int length;
+        private int offset;
+        private int doc = -1;
+        private int freq;
+        private int positionsOffset;
+        private boolean positionsRead;
+        private int[] positions = new int[8];
+
+        private Cursor(Postings postings) {
+            this.data = postings.data;
+            this.length = postings.length;
+        }
+
+        private boolean next() {
+            if (doc >= 0 && !positionsRead) {
+                skipPositions();
+            }
+            if (offset >= length) {
+                return false;
+            }
+            doc += readVarint();
+            freq = readVarint();
+            positionsOffset = offset;
+            positionsRead = false;
+            return true;
+        }
+
+        private boolean advanceTo(int target) {
+            while (doc < target) {
+                if (!next()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int[] positions() {
+            if (!positionsRead) {
+                offset = positionsOffset;
+                if (positions.length < freq + 1) {
+                    positions = new int[freq + 1];
+                }
+                positions[0] = freq;
+                int position = 0;
+                for (int i = 1; i <= freq; i++) {
+                    position += readVarint();
+                    positions[i] = position;
+                }
+                positionsRead = true;
+            }
+            return positions;
+        }
+
+        private void skipPositions() {
+            offset = positionsOffset;
+            for (int i = 0; i < freq; i++) {
+                while ((data[offset++] & 0x80) != 0) {
+                    // continuation byte
+                }
+            }
+            positionsRead = true;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    /** Hands each '\n'-terminated line of a replay to the consumer. */
+    private static final class LineSplitter extends OutputStream {
+        private final LineConsumer consumer;
+        private byte[] buf = new byte[4096];
+        private int count;
+
+        private LineSplitter(LineConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                consumer.accept(Arrays.copyOf(buf, count));
+                count = 0;
+                return;
+            }
+            if (count == buf.length) {
+                buf = Arrays.copyOf(buf, count * 2);
+            }
+            buf[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineConsumer {
+        void accept(byte[] line);
+    }
+}
@@ -0,0 +1,226 @@
+package com.meetclone.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * Hand-written single-pass scanners behind the UserService validators.
+ * They accept and reject exactly what the original regex/split/replaceAll
+ * versions did, and allocate nothing for input that is already clean.
+ */
+final class InputValidator {
+
+    private static final int MAX_EMAIL_LENGTH = 254;
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+
+    private static final String[] DISPOSABLE_DOMAINS = { "tempmail.com", "throwaway.email", "guerrillamail.com" };
+
+    // Only consulted for non-ASCII input, where toLowerCase can map a
+    // character into the ASCII range (e.g. KELVIN SIGN -> 'k').
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+
+    private InputValidator() {
+    }
+
+    static boolean isValidEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        int start = 0;
+        int end = email.length();
+        while (start < end && email.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && email.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return false;
+        }
+
+        int at = -1;
+        int segmentStart = start;
+        int labels = 0;
+        int labelStart = 0;
+        boolean labelAlpha = true;
+        for (int i = start; i < end; i++) {
+            char c = email.charAt(i);
+            if (c > 0x7F) {
+                return isValidEmailUnicode(email);
+            }
+            if (at < 0) {
+                if (c == '@' || c == '.') {
+                    if (i == segmentStart) {
+                        return false;
+                    }
+                    if (c == '@') {
+                        at = i;
+                        labelStart = i + 1;
+                    }
+                    segmentStart = i + 1;
+                } else if (!isLocalChar(c)) {
+                    return false;
+                }
+            } else if (c == '.') {
+                if (i == labelStart) {
+                    return false;
+                }
+                labels++;
+                labelStart = i + 1;
+                labelAlpha = true;
+            } else if (isLetter(c)) {
+                // still a candidate top-level domain
+            } else if (isDigit(c) || c == '-') {
+                labelAlpha = false;
+            } else {
+                return false;
+            }
+        }
+
+        int tldLength = end - labelStart;
+        if (at < 0 || labels == 0 || !labelAlpha || tldLength < 2 || tldLength > 7) {
+            return false;
+        }
+        if (end - start > MAX_EMAIL_LENGTH || at - start > MAX_LOCAL_PART_LENGTH) {
+            return false;
+        }
+        int domainLength = end - at - 1;
+        for (String disposable : DISPOSABLE_DOMAINS) {
+            if (domainLength == disposable.length() && email.regionMatches(true, at + 1, disposable, 0, domainLength)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidEmailUnicode(String email) {
+        email = email.trim().toLowerCase();
+        if (!EMAIL_PATTERN.matcher(email).matches() || email.length() > MAX_EMAIL_LENGTH) {
+            return false;
+        }
+        int at = email.indexOf('@');
+        if (at > MAX_LOCAL_PART_LENGTH) {
+            return false;
+        }
+        String domain = email.substring(at + 1);
+        for (String disposable : DISPOSABLE_DOMAINS) {
+            if (domain.equalsIgnoreCase(disposable)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isValidPassword(String password) {
+        if (password == null || password.length() < 8) {
+            return false;
+        }
+        boolean hasUpper = false;
+        boolean hasLower = false;
+        boolean hasDigit = false;
+        for (int i = 0, n = password.length(); i < n; i++) {
+            char c = password.charAt(i);
+            if (Character.isUpperCase(c)) {
+                hasUpper = true;
+            } else if (Character.isLowerCase(c)) {
+                hasLower = true;
+            } else if (Character.isDigit(c)) {
+                hasDigit = true;
+            }
+            if (hasUpper && hasLower && hasDigit) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isValidUsername(String username) {
+        if (username == null || username.length() < 3 || username.length() > 20) {
+            return false;
+        }
+        if (!isLetter(username.charAt(0))) {
+            return false;
+        }
+        for (int i = 1, n = username.length(); i < n; i++) {
+            char c = username.charAt(i);
+            if (!isLetter(c) && !isDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isValidOtp(String otp) {
+        if (otp == null || otp.length() != 6) {
+            return false;
+        }
+        for (int i = 0; i < 6; i++) {
+            if (!isDigit(otp.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Trims and HTML-escapes {@code < > " ' /}. Returns the argument itself
+     * when there is nothing to trim or escape.
+     */
+    static String sanitize(String input) {
+        if (input == null) {
+            return null;
+        }
+        int start = 0;
+        int end = input.length();
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int i = start;
+        while (i < end && escape(input.charAt(i)) == null) {
+            i++;
+        }
+        if (i == end) {
+            return start == 0 && end == input.length() ? input : input.substring(start, end);
+        }
+
+        StringBuilder out = new StringBuilder(end - start + 16);
+        out.append(input, start, i);
+        for (; i < end; i++) {
+            char c = input.charAt(i);
+            String replacement = escape(c);
+            if (replacement == null) {
+                out.append(c);
+            } else {
+                out.append(replacement);
+            }
+        }
+        return out.toString();
+    }
+
+    private static String escape(char c) {
+        return switch (c) {
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            case '"' -> "&quot;";
+            case '\'' -> "&#x27;";
+            case '/' -> "&#x2F;";
+            default -> null;
+        };
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '_' || c == '+' || c == '&' || c == '*' || c == '-';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
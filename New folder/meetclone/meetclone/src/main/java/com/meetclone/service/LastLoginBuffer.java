@@ -0,0 +1,71 @@
+package com.meetclone.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for users.last_login. Logins only record the latest
+ * timestamp per user in memory; the buffer is written out with one batched
+ * UPDATE on a schedule and once more on shutdown.
+ */
+@Component
+public class LastLoginBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginBuffer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${meetclone.last-login.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                batch.add(new Object[] { Timestamp.valueOf(loginTime), userId });
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate("UPDATE users SET last_login = ? WHERE id = ?", batch);
+        } catch (DataAccessException e) {
+            log.warn("Failed to write {} last-login timestamps; will retry", batch.size(), e);
+            for (Object[] row : batch) {
+                record((Long) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
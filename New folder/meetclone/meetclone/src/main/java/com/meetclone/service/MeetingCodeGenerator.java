@@ -0,0 +1,138 @@
+package com.meetclone.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style meeting codes with no database round trip. A 50-bit id
+ * is built from 31 bits of seconds since 2025-01-01, 5 bits of node id and
+ * 14 bits of per-second sequence. It is scrambled with a bijective mix so
+ * that consecutive codes do not look alike, then written as 10 Crockford
+ * base32 characters, e.g. {@code k3f-9qzm-x2a}.
+ * <p>
+ * The clock and sequence share one AtomicLong and advance by CAS. Ids are
+ * never issued ahead of the wall clock: when a second's 16384 sequence
+ * numbers run out, or the clock steps backwards, the generator waits for
+ * the clock to pass the last second it used (up to max-clock-wait, then
+ * fails). The second the generator starts in is treated as used up, since
+ * a previous process on the same node may have issued ids in it. A
+ * restarted node therefore never repeats an id its predecessor issued, as
+ * long as the clock did not step back across the restart; a unique index
+ * on the code catches that case.
+ */
+@Component
+public class MeetingCodeGenerator {
+
+    static final long EPOCH_SECONDS = Instant.parse("2025-01-01T00:00:00Z").getEpochSecond();
+
+    static final int SEQUENCE_BITS = 14;
+    static final int NODE_BITS = 5;
+    static final int TIME_BITS = 31;
+    static final int ID_BITS = TIME_BITS + NODE_BITS + SEQUENCE_BITS;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+
+    private static final long MIX_1 = 0x2545F4914F6CDD1DL & ID_MASK | 1;
+    private static final long MIX_2 = 0x9E3779B97F4A7C15L & ID_MASK | 1;
+
+    private static final char[] ALPHABET = "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+
+    @Value("${meetclone.node-id:0}")
+    private long nodeId;
+
+    @Value("${meetclone.meeting-code.max-clock-wait:5s}")
+    private Duration maxClockWait = Duration.ofSeconds(5);
+
+    // (seconds since epoch << SEQUENCE_BITS) | sequence
+    private final AtomicLong state = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalStateException("meetclone.node-id must be between 0 and " + MAX_NODE);
+        }
+        state.set((currentSecond() << SEQUENCE_BITS) | SEQUENCE_MASK);
+    }
+
+    public String next() {
+        return format(nextId());
+    }
+
+    long nextId() {
+        long next;
+        while (true) {
+            long prev = state.get();
+            long second = prev >>> SEQUENCE_BITS;
+            long now = currentSecond();
+            if (now > second) {
+                next = now << SEQUENCE_BITS;
+            } else if ((prev & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = prev + 1;
+            } else {
+                awaitSecond(second + 1);
+                continue;
+            }
+            if (state.compareAndSet(prev, next)) {
+                break;
+            }
+        }
+
+        long second = (next >>> SEQUENCE_BITS) & TIME_MASK;
+        return (second << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+
+    private void awaitSecond(long second) {
+        long behind = second - currentSecond();
+        if (behind > maxClockWait.toSeconds()) {
+            throw new IllegalStateException("Clock is " + behind + "s behind the last meeting code issued");
+        }
+        while (currentSecond() < second) {
+            pause();
+        }
+    }
+
+    protected void pause() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the clock", e);
+        }
+    }
+
+    protected long currentSecond() {
+        return System.currentTimeMillis() / 1000 - EPOCH_SECONDS;
+    }
+
+    static String format(long id) {
+        long x = mix(id);
+        char[] code = new char[12];
+        int pos = code.length;
+        for (int i = 0; i < 10; i++) {
+            if (i == 3 || i == 7) {
+                code[--pos] = '-';
+            }
+            code[--pos] = ALPHABET[(int) (x & 31)];
+            x >>>= 5;
+        }
+        return new String(code);
+    }
+
+    // Odd multipliers and xor-shifts are each invertible mod 2^50, so the
+    // mix is a bijection and distinct ids always give distinct codes.
+    static long mix(long x) {
+        x = (x * MIX_1) & ID_MASK;
+        x ^= x >>> 25;
+        x = (x * MIX_2) & ID_MASK;
+        x ^= x >>> 23;
+        return x;
+    }
+}
@@ -0,0 +1,130 @@
+package com.meetclone.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One participant's socket with a bounded outbound queue. Room workers only
+ * enqueue; a sender task drains the queue so a slow client cannot stall the
+ * rest of its room. A client that falls too far behind is disconnected.
+ * <p>
+ * The drain task is the session's only writer, and that includes closing
+ * it. {@link #close} only marks the connection and wakes the drain, so a
+ * room worker never blocks on the socket or closes it mid-send.
+ */
+public class MeetingConnection {
+
+    private static final Logger log = LoggerFactory.getLogger(MeetingConnection.class);
+
+    private final WebSocketSession session;
+    private final String meetingCode;
+    private final Long userId;
+    private final String username;
+    private final Executor sender;
+    private final int maxQueued;
+
+    private final Queue<WebSocketMessage<?>> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean closed;
+    private volatile CloseStatus closeStatus;
+    // Only touched by the drain task; runs are ordered through pending.
+    private boolean sessionClosed;
+
+    public MeetingConnection(WebSocketSession session, String meetingCode, Long userId, String username,
+            Executor sender, int maxQueued) {
+        this.session = session;
+        this.meetingCode = meetingCode;
+        this.userId = userId;
+        this.username = username;
+        this.sender = sender;
+        this.maxQueued = maxQueued;
+    }
+
+    public void send(WebSocketMessage<?> message) {
+        if (closed) {
+            return;
+        }
+        if (pending.get() >= maxQueued) {
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+            return;
+        }
+        outbound.add(message);
+        if (pending.getAndIncrement() == 0) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            WebSocketMessage<?> message = outbound.poll();
+            if (closed) {
+                closeSession();
+            } else if (message != null) {
+                try {
+                    session.sendMessage(message);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Send to {} in meeting {} failed: {}", session.getId(), meetingCode, e.getMessage());
+                    close(CloseStatus.SERVER_ERROR);
+                }
+            }
+        } while (pending.decrementAndGet() > 0);
+    }
+
+    public void close(CloseStatus status) {
+        if (closed) {
+            return;
+        }
+        closeStatus = status;
+        closed = true;
+        // Counts as one more queue entry, so a drain runs (or keeps running) to close.
+        if (pending.getAndIncrement() == 0) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void closeSession() {
+        if (sessionClosed) {
+            return;
+        }
+        sessionClosed = true;
+        outbound.clear();
+        try {
+            session.close(closeStatus);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Close of {} failed: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    public boolean isOpen() {
+        return !closed && session.isOpen();
+    }
+
+    public String getId() {
+        return session.getId();
+    }
+
+    public String getMeetingCode() {
+        return meetingCode;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+}
@@ -0,0 +1,221 @@
+package com.meetclone.service;
+
+import com.meetclone.entity.Meeting;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded near-cache of meetings by code, split into lock-striped LRU
+ * segments. Misses for the same code share one loader call and invalid codes
+ * are remembered for a short time.
+ * <p>
+ * Invalidating a code marks that code's in-flight load stale, under the
+ * segment lock the load stores through, so a result read before the write
+ * is returned but never cached. Loads of other codes are unaffected.
+ */
+public class MeetingDirectoryCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final Map<String, Load> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public MeetingDirectoryCache(int maxSize, long ttlNanos, long negativeTtlNanos) {
+        this.ttlNanos = ttlNanos;
+        this.negativeTtlNanos = negativeTtlNanos;
+        int perSegment = Math.max(1, maxSize / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment, evictions);
+        }
+    }
+
+    public Optional<Meeting> get(String code, Function<String, Optional<Meeting>> loader) {
+        if (code == null) {
+            return Optional.empty();
+        }
+
+        Entry entry = segmentFor(code).get(code);
+        if (entry != null) {
+            if (entry.meeting == null) {
+                negativeHits.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(entry.meeting);
+        }
+
+        misses.increment();
+        Load mine = new Load();
+        Load running = inFlight.putIfAbsent(code, mine);
+        if (running != null) {
+            coalesced.increment();
+            return running.result.join();
+        }
+
+        try {
+            Optional<Meeting> loaded = loader.apply(code);
+            if (loaded.isEmpty()) {
+                segmentFor(code).putUnlessStale(code, new Entry(null, System.nanoTime() + negativeTtlNanos), mine);
+            } else if (Boolean.TRUE.equals(loaded.get().getIsActive())) {
+                segmentFor(code).putUnlessStale(code, new Entry(loaded.get(), System.nanoTime() + ttlNanos), mine);
+            }
+            mine.result.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(code, mine);
+        }
+    }
+
+    public void put(Meeting meeting) {
+        invalidate(meeting.getMeetingCode());
+        if (Boolean.TRUE.equals(meeting.getIsActive())) {
+            store(meeting.getMeetingCode(), new Entry(meeting, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public void invalidate(String code) {
+        if (code == null) {
+            return;
+        }
+        segmentFor(code).invalidate(code, inFlight);
+    }
+
+    public void clear() {
+        for (Load load : inFlight.values()) {
+            load.stale = true;
+        }
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public Stats stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new Stats(hits.sum(), negativeHits.sum(), misses.sum(), coalesced.sum(), evictions.sum(), size);
+    }
+
+    private void store(String code, Entry entry) {
+        segmentFor(code).put(code, entry);
+    }
+
+    private Segment segmentFor(String code) {
+        int h = code.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    public record Stats(long hits, long negativeHits, long misses, long coalesced, long evictions, int size) {
+    }
+
+    private record Entry(Meeting meeting, long expiresAt) {
+    }
+
+    private static final class Load {
+        private final CompletableFuture<Optional<Meeting>> result = new CompletableFuture<>();
+        private volatile boolean stale;
+    }
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> lru;
+
+        private Segment(int capacity, LongAdder evictions) {
+            lru = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private Entry get(String code) {
+            lock.lock();
+            try {
+                Entry entry = lru.get(code);
+                if (entry != null && System.nanoTime() - entry.expiresAt >= 0) {
+                    lru.remove(code);
+                    return null;
+                }
+                return entry;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(String code, Entry entry) {
+            lock.lock();
+            try {
+                lru.put(code, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void putUnlessStale(String code, Entry entry, Load load) {
+            lock.lock();
+            try {
+                if (!load.stale) {
+                    lru.put(code, entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void invalidate(String code, Map<String, Load> inFlight) {
+            lock.lock();
+            try {
+                lru.remove(code);
+                Load load = inFlight.get(code);
+                if (load != null) {
+                    load.stale = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void clear() {
+            lock.lock();
+            try {
+                lru.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return lru.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.meetclone.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ends meetings nobody has been present in for idle-timeout. Liveness comes
+ * from meetings.last_activity_at, which {@link PresenceRegistry} bumps while
+ * anyone is in the meeting.
+ * <p>
+ * Each tick walks active meetings in (started_at, id) order on the
+ * (is_active, started_at) index. It reads at most max-batches pages of
+ * batch-size rows, then ends each page's idle meetings with one UPDATE. The
+ * cursor carries over to the next tick, so a large backlog is drained over
+ * several ticks rather than in one long scan that would compete with joins.
+ */
+@Component
+public class MeetingReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(MeetingReaper.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private PresenceRegistry presenceRegistry;
+
+    @Value("${meetclone.meeting-reaper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${meetclone.meeting-reaper.idle-timeout:30m}")
+    private Duration idleTimeout;
+
+    @Value("${meetclone.meeting-reaper.batch-size:200}")
+    private int batchSize;
+
+    @Value("${meetclone.meeting-reaper.max-batches:5}")
+    private int maxBatches;
+
+    private Timestamp cursorStartedAt;
+    private long cursorId;
+
+    @Scheduled(fixedDelayString = "${meetclone.meeting-reaper.interval-ms:60000}",
+            initialDelayString = "${meetclone.meeting-reaper.interval-ms:60000}")
+    public void reap() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reapOnce(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Meeting reaper tick failed", e);
+        }
+    }
+
+    /**
+     * Runs one bounded pass and returns the number of meetings ended.
+     */
+    synchronized int reapOnce(LocalDateTime now) {
+        Timestamp idleBefore = Timestamp.valueOf(now.minus(idleTimeout));
+        int ended = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Candidate> page = nextPage(idleBefore);
+            if (page.isEmpty()) {
+                resetCursor();
+                break;
+            }
+            Candidate last = page.get(page.size() - 1);
+            cursorStartedAt = last.startedAt();
+            cursorId = last.id();
+
+            List<Candidate> idle = new ArrayList<>(page.size());
+            for (Candidate candidate : page) {
+                if (presenceRegistry.getParticipantCount(candidate.meetingCode()) == 0) {
+                    idle.add(candidate);
+                }
+            }
+            ended += end(idle, Timestamp.valueOf(now), idleBefore);
+
+            if (page.size() < batchSize) {
+                resetCursor();
+                break;
+            }
+        }
+        if (ended > 0) {
+            log.info("Ended {} idle meetings", ended);
+        }
+        return ended;
+    }
+
+    private List<Candidate> nextPage(Timestamp idleBefore) {
+        String sql = "SELECT id, meeting_code, started_at FROM meetings"
+                + " WHERE is_active = TRUE AND started_at < ?"
+                + " AND COALESCE(last_activity_at, started_at) < ?";
+        List<Object> args = new ArrayList<>(List.of(idleBefore, idleBefore));
+        if (cursorStartedAt != null) {
+            sql += " AND (started_at > ? OR (started_at = ? AND id > ?))";
+            args.add(cursorStartedAt);
+            args.add(cursorStartedAt);
+            args.add(cursorId);
+        }
+        sql += " ORDER BY started_at, id LIMIT ?";
+        args.add(batchSize);
+        return jdbcTemplate.query(sql, (rs, i) -> new Candidate(rs.getLong("id"), rs.getString("meeting_code"),
+                rs.getTimestamp("started_at")), args.toArray());
+    }
+
+    private int end(List<Candidate> idle, Timestamp endedAt, Timestamp idleBefore) {
+        if (idle.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(idle.size(), "?"));
+        List<Object> args = new ArrayList<>(idle.size() + 2);
+        args.add(endedAt);
+        for (Candidate candidate : idle) {
+            args.add(candidate.id());
+        }
+        args.add(idleBefore);
+        // Re-check liveness in the UPDATE itself so a join that landed after
+        // the SELECT keeps its meeting.
+        int updated = jdbcTemplate.update("UPDATE meetings SET is_active = FALSE, ended_at = ?"
+                + " WHERE id IN (" + placeholders + ") AND is_active = TRUE"
+                + " AND COALESCE(last_activity_at, started_at) < ?", args.toArray());
+
+        List<String> codes;
+        if (updated == idle.size()) {
+            codes = idle.stream().map(Candidate::meetingCode).toList();
+        } else {
+            List<Object> ids = new ArrayList<>(args.subList(1, args.size() - 1));
+            ids.add(endedAt);
+            codes = jdbcTemplate.queryForList("SELECT meeting_code FROM meetings WHERE id IN (" + placeholders
+                    + ") AND is_active = FALSE AND ended_at = ?", String.class, ids.toArray());
+        }
+        if (!codes.isEmpty()) {
+            meetingService.meetingsEnded(codes);
+        }
+        return codes.size();
+    }
+
+    private void resetCursor() {
+        cursorStartedAt = null;
+        cursorId = 0;
+    }
+
+    private record Candidate(long id, String meetingCode, Timestamp startedAt) {
+    }
+}
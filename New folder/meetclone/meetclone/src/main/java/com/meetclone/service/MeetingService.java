@@ -2,9 +2,15 @@ package com.meetclone.service;
 
 import com.meetclone.entity.Meeting;
 import com.meetclone.repository.MeetingRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -13,20 +19,73 @@ public class MeetingService {
     @Autowired
     private MeetingRepository repo;
 
+    @Autowired
+    private ChatLogStore chatLogStore;
+
+    @Autowired
+    private ChatSearchIndex chatSearchIndex;
+
+    @Autowired
+    private PresenceRegistry presenceRegistry;
+
+    @Autowired
+    private MeetingCodeGenerator codeGenerator;
+
+    @Autowired
+    private AdminStatsService adminStats;
+
+    @Value("${meetclone.meeting-cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${meetclone.meeting-cache.ttl:60s}")
+    private Duration cacheTtl;
+
+    @Value("${meetclone.meeting-cache.negative-ttl:5s}")
+    private Duration cacheNegativeTtl;
+
+    private MeetingDirectoryCache directory;
+
+    @PostConstruct
+    public void init() {
+        directory = new MeetingDirectoryCache(cacheMaxSize, cacheTtl.toNanos(), cacheNegativeTtl.toNanos());
+    }
+
+    public String generateMeetingCode() {
+        return codeGenerator.next();
+    }
+
     public Meeting createMeeting(String title, String meetingCode, Long hostUserId) {
         Meeting meeting = new Meeting();
         meeting.setTitle(title);
         meeting.setMeetingCode(meetingCode);
         meeting.setHostUserId(hostUserId);
-        return repo.save(meeting);
+        Meeting saved = repo.save(meeting);
+        directory.put(saved);
+        adminStats.meetingStarted();
+        return saved;
+    }
+
+    /**
+     * Creates a meeting under a fresh code. A code can only collide with one
+     * issued before the node's clock stepped back across a restart, so one
+     * retry with a new code is enough.
+     */
+    public Meeting startMeeting(String title, Long hostUserId) {
+        try {
+            return createMeeting(title, generateMeetingCode(), hostUserId);
+        } catch (DataIntegrityViolationException e) {
+            return createMeeting(title, generateMeetingCode(), hostUserId);
+        }
     }
 
     public Optional<Meeting> getMeetingByCode(String meetingCode) {
-        return repo.findByMeetingCode(meetingCode);
+        return directory.get(meetingCode, repo::findByMeetingCode);
     }
 
     public Meeting saveMeeting(Meeting meeting) {
-        return repo.save(meeting);
+        Meeting saved = repo.save(meeting);
+        directory.invalidate(saved.getMeetingCode());
+        return saved;
     }
 
     public Optional<Meeting> getMeetingById(Long id) {
@@ -37,8 +96,60 @@ public class MeetingService {
         Optional<Meeting> meeting = repo.findById(id);
         if (meeting.isPresent()) {
             Meeting m = meeting.get();
+            boolean wasActive = Boolean.TRUE.equals(m.getIsActive());
             m.setIsActive(false);
+            if (m.getEndedAt() == null) {
+                m.setEndedAt(LocalDateTime.now());
+            }
             repo.save(m);
+            if (wasActive) {
+                adminStats.meetingsEnded(1);
+            }
+            releaseMeeting(m.getMeetingCode());
+        }
+    }
+
+    /**
+     * Drops in-memory state for meetings that were ended directly in the
+     * database by {@link MeetingReaper}.
+     */
+    public void meetingsEnded(List<String> meetingCodes) {
+        for (String code : meetingCodes) {
+            releaseMeeting(code);
+        }
+        adminStats.meetingsEnded(meetingCodes.size());
+    }
+
+    private void releaseMeeting(String meetingCode) {
+        directory.invalidate(meetingCode);
+        chatLogStore.close(meetingCode);
+        chatSearchIndex.evict(meetingCode);
+        presenceRegistry.remove(meetingCode);
+    }
+
+    public void joinMeeting(Meeting meeting, Long userId) {
+        if (presenceRegistry.join(meeting.getMeetingCode(), meeting.getId(), userId)) {
+            adminStats.participantJoined();
         }
     }
+
+    public void leaveMeeting(String meetingCode, Long userId) {
+        presenceRegistry.leave(meetingCode, userId);
+    }
+
+    public void participantConnected(String meetingCode, Long meetingId, Long userId) {
+        presenceRegistry.connect(meetingCode, meetingId, userId);
+    }
+
+    public void participantDisconnected(String meetingCode, Long userId) {
+        presenceRegistry.disconnect(meetingCode, userId);
+    }
+
+    public int getLiveParticipantCount(String meetingCode) {
+        return presenceRegistry.getParticipantCount(meetingCode);
+    }
+
+    public MeetingDirectoryCache.Stats getDirectoryStats() {
+        return directory.stats();
+    }
 }
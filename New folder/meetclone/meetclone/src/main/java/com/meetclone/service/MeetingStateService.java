@@ -0,0 +1,255 @@
+package com.meetclone.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.TextMessage;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-held mic, camera, screen-share and raised-hand state for everyone
+ * in a meeting, keyed by user. Each user's state is a bit set of the FLAG_
+ * constants. Clients send their absolute state and get back a versioned
+ * "state-snapshot" when they connect, then "state-delta" messages that move
+ * the room from one version to the next.
+ * <p>
+ * Changes are not broadcast as they arrive. The first change in a room
+ * schedules a flush coalesce-window later. The flush compares each touched
+ * user against what was last broadcast and sends all differences in one
+ * delta. A toggle and its undo inside the window send nothing, and a
+ * meeting emits at most one delta per window however many people type
+ * shortcuts. A client that sees a delta whose "from" is not its version
+ * sends "state-sync" and gets a fresh snapshot. All room state is confined
+ * to the room's shard worker.
+ */
+@Service
+public class MeetingStateService {
+
+    public static final int FLAG_MIC_MUTED = 1;
+    public static final int FLAG_CAMERA_OFF = 1 << 1;
+    public static final int FLAG_SCREEN_SHARING = 1 << 2;
+    public static final int FLAG_HAND_RAISED = 1 << 3;
+
+    private static final Map<String, Integer> FIELDS = Map.of(
+            "micMuted", FLAG_MIC_MUTED,
+            "cameraOff", FLAG_CAMERA_OFF,
+            "screenSharing", FLAG_SCREEN_SHARING,
+            "handRaised", FLAG_HAND_RAISED);
+
+    // Broadcast state of a user who was not in the room.
+    private static final int ABSENT = -1;
+
+    @Autowired
+    private RoomShardExecutor shards;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${meetclone.meeting-state.coalesce-window-ms:100}")
+    private long coalesceWindowMs;
+
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+
+    public void join(MeetingConnection connection) {
+        String code = connection.getMeetingCode();
+        shards.execute(code, () -> {
+            Room room = rooms.computeIfAbsent(code, k -> new Room(code));
+            room.members.add(connection);
+            Participant participant = room.participants.get(connection.getUserId());
+            if (participant == null) {
+                participant = new Participant(connection.getUsername());
+                room.participants.put(connection.getUserId(), participant);
+                room.touched(connection.getUserId(), ABSENT);
+            }
+            participant.connections++;
+            connection.send(snapshot(room));
+        });
+    }
+
+    public void leave(MeetingConnection connection) {
+        String code = connection.getMeetingCode();
+        shards.execute(code, () -> {
+            Room room = rooms.get(code);
+            if (room == null || !room.members.remove(connection)) {
+                return;
+            }
+            if (room.members.isEmpty()) {
+                rooms.remove(code);
+                return;
+            }
+            Participant participant = room.participants.get(connection.getUserId());
+            if (participant != null && --participant.connections == 0) {
+                room.touched(connection.getUserId(), participant.flags);
+                room.participants.remove(connection.getUserId());
+            }
+        });
+    }
+
+    /**
+     * Applies a "state" message. Only the boolean fields present change.
+     *
+     * @return false if the message carries no recognised field
+     */
+    public boolean update(MeetingConnection from, JsonNode message) {
+        int set = 0;
+        int clear = 0;
+        for (Map.Entry<String, Integer> field : FIELDS.entrySet()) {
+            JsonNode value = message.get(field.getKey());
+            if (value != null && value.isBoolean()) {
+                if (value.booleanValue()) {
+                    set |= field.getValue();
+                } else {
+                    clear |= field.getValue();
+                }
+            }
+        }
+        if ((set | clear) == 0) {
+            return false;
+        }
+        int setMask = set;
+        int clearMask = clear;
+        String code = from.getMeetingCode();
+        shards.execute(code, () -> {
+            Room room = rooms.get(code);
+            Participant participant = room == null ? null : room.participants.get(from.getUserId());
+            if (participant == null) {
+                return;
+            }
+            int flags = (participant.flags | setMask) & ~clearMask;
+            if (flags != participant.flags) {
+                room.touched(from.getUserId(), participant.flags);
+                participant.flags = flags;
+            }
+        });
+        return true;
+    }
+
+    /** Resends the snapshot to a client that lost track of the version. */
+    public void resync(MeetingConnection connection) {
+        String code = connection.getMeetingCode();
+        shards.execute(code, () -> {
+            Room room = rooms.get(code);
+            if (room != null && room.members.contains(connection)) {
+                connection.send(snapshot(room));
+            }
+        });
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    /**
+     * The snapshot reports the last broadcast version but current flags.
+     * The pending delta then repeats some of them, which is harmless since
+     * deltas carry absolute values.
+     */
+    private TextMessage snapshot(Room room) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("type", "state-snapshot");
+        node.put("version", room.version);
+        ArrayNode participants = node.putArray("participants");
+        for (Map.Entry<Long, Participant> entry : room.participants.entrySet()) {
+            participants.add(describe(entry.getKey(), entry.getValue()));
+        }
+        return frame(node);
+    }
+
+    private ObjectNode describe(Long userId, Participant participant) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("userId", userId);
+        node.put("username", participant.username);
+        node.put("state", participant.flags);
+        return node;
+    }
+
+    private TextMessage frame(ObjectNode node) {
+        return new TextMessage(objectMapper.writeValueAsBytes(node));
+    }
+
+    private static final class Participant {
+        private final String username;
+        private int flags;
+        private int connections;
+
+        private Participant(String username) {
+            this.username = username;
+        }
+    }
+
+    private final class Room {
+        private final String code;
+        private final List<MeetingConnection> members = new ArrayList<>();
+        private final Map<Long, Participant> participants = new LinkedHashMap<>();
+        // User id -> flags as of the last broadcast, for users touched since.
+        private final Map<Long, Integer> pending = new HashMap<>();
+        private long version;
+
+        private Room(String code) {
+            this.code = code;
+        }
+
+        private void touched(Long userId, int broadcastFlags) {
+            if (pending.isEmpty()) {
+                shards.schedule(code, this::flush, coalesceWindowMs, TimeUnit.MILLISECONDS);
+            }
+            pending.putIfAbsent(userId, broadcastFlags);
+        }
+
+        private void flush() {
+            if (rooms.get(code) != this || pending.isEmpty()) {
+                pending.clear();
+                return;
+            }
+            ObjectNode delta = objectMapper.createObjectNode();
+            delta.put("type", "state-delta");
+            delta.put("from", version);
+            ArrayNode joined = objectMapper.createArrayNode();
+            ArrayNode changed = objectMapper.createArrayNode();
+            ArrayNode left = objectMapper.createArrayNode();
+            for (Map.Entry<Long, Integer> entry : pending.entrySet()) {
+                Long userId = entry.getKey();
+                int before = entry.getValue();
+                Participant participant = participants.get(userId);
+                if (participant == null) {
+                    if (before != ABSENT) {
+                        left.add(userId);
+                    }
+                } else if (before == ABSENT) {
+                    joined.add(describe(userId, participant));
+                } else if (before != participant.flags) {
+                    changed.addArray().add(userId).add(participant.flags);
+                }
+            }
+            pending.clear();
+            if (joined.isEmpty() && changed.isEmpty() && left.isEmpty()) {
+                return;
+            }
+            delta.put("version", ++version);
+            if (!joined.isEmpty()) {
+                delta.set("joined", joined);
+            }
+            if (!changed.isEmpty()) {
+                delta.set("changed", changed);
+            }
+            if (!left.isEmpty()) {
+                delta.set("left", left);
+            }
+            TextMessage message = frame(delta);
+            for (MeetingConnection member : members) {
+                member.send(message);
+            }
+        }
+    }
+}
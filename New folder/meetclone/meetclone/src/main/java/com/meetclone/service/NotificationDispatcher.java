@@ -0,0 +1,302 @@
+package com.meetclone.service;
+
+import com.meetclone.entity.Notification;
+import com.meetclone.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.security.GeneralSecurityException;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the notification outbox on a single background thread. Due rows
+ * are sent in batches through one {@code JavaMailSender.send(MimeMessage...)}
+ * call, which reuses a single SMTP connection for the whole batch. Failed
+ * rows are retried with exponential backoff until max-attempts.
+ * <p>
+ * Nodes share the outbox, so a batch is first claimed: one conditional
+ * UPDATE moves the due rows to IN_FLIGHT under a per-batch token and a
+ * lease, and only the rows that carry this node's token are sent. Rows left
+ * IN_FLIGHT by a node that died become claimable again when the lease runs
+ * out. The outcome of a send is written only while the row still carries
+ * the batch's token, so a node whose lease ran out mid-send cannot overwrite
+ * the state of the node that reclaimed the row. Delivery is at least once:
+ * keep claim-lease well above the SMTP timeouts. SENT rows are deleted after
+ * retention, FAILED rows after failed-retention.
+ * <p>
+ * Without {@code spring.mail.host} there is no JavaMailSender bean and
+ * messages are written to the log instead.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    @Autowired
+    private NotificationRepository repo;
+
+    @Autowired
+    private OutboxCipher cipher;
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Value("${meetclone.notifications.from:no-reply@meetclone.local}")
+    private String from;
+
+    @Value("${meetclone.notifications.batch-size:50}")
+    private int batchSize;
+
+    @Value("${meetclone.notifications.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${meetclone.notifications.initial-backoff:5s}")
+    private Duration initialBackoff;
+
+    @Value("${meetclone.notifications.max-backoff:10m}")
+    private Duration maxBackoff;
+
+    @Value("${meetclone.notifications.claim-lease:5m}")
+    private Duration claimLease;
+
+    @Value("${meetclone.notifications.retention:7d}")
+    private Duration retention;
+
+    @Value("${meetclone.notifications.failed-retention:30d}")
+    private Duration failedRetention;
+
+    private final AtomicBoolean signalled = new AtomicBoolean();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile long lastLagMillis;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "notification-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    public void wakeUp() {
+        if (executor != null && signalled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${meetclone.notifications.poll-interval-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(fixedDelayString = "${meetclone.notifications.purge-interval-ms:3600000}",
+            initialDelayString = "${meetclone.notifications.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            purge(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Notification purge failed", e);
+        }
+    }
+
+    int purge(LocalDateTime now) {
+        return repo.deleteByStatusCreatedBefore(Notification.Status.SENT, now.minus(retention))
+                + repo.deleteByStatusCreatedBefore(Notification.Status.FAILED, now.minus(failedRetention));
+    }
+
+    private void drain() {
+        signalled.set(false);
+        try {
+            while (dispatchBatch() == batchSize) {
+                // a full batch means more may be due
+            }
+        } catch (RuntimeException e) {
+            log.warn("Notification dispatch failed", e);
+        }
+    }
+
+    int dispatchBatch() {
+        LocalDateTime claimedAt = LocalDateTime.now();
+        List<Long> ids = repo.findClaimableIds(claimedAt, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String token = UUID.randomUUID().toString();
+        repo.claim(ids, token, claimedAt.plus(claimLease), claimedAt);
+        // Rows another node claimed first are simply not returned here.
+        List<Notification> due = repo.findByClaimTokenOrderByIdAsc(token);
+        if (due.isEmpty()) {
+            return ids.size();
+        }
+
+        Map<Notification, Exception> failures = mailSender == null ? logAll(due) : sendAll(due);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Notification notification : due) {
+            Exception failure = failures.get(notification);
+            if (failure == null) {
+                delivered(notification, now);
+            } else {
+                failed(notification, failure, now);
+            }
+            if (repo.complete(notification.getId(), token, notification.getStatus(), notification.getAttempts(),
+                    notification.getSentAt(), notification.getNextAttemptAt(), notification.getLastError(),
+                    notification.getSecret()) == 0) {
+                log.warn("Claim on notification {} expired while sending; another node now owns it",
+                        notification.getId());
+            }
+        }
+        return ids.size();
+    }
+
+    private Map<Notification, Exception> sendAll(List<Notification> due) {
+        Map<Notification, Exception> failures = new IdentityHashMap<>();
+        Map<MimeMessage, Notification> byMessage = new IdentityHashMap<>();
+        for (Notification notification : due) {
+            try {
+                byMessage.put(toMimeMessage(notification), notification);
+            } catch (MessagingException | GeneralSecurityException e) {
+                failures.put(notification, e);
+            }
+        }
+        if (byMessage.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(byMessage.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                byMessage.values().forEach(n -> failures.put(n, e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    Notification notification = byMessage.get(message);
+                    if (notification != null) {
+                        failures.put(notification, cause);
+                    }
+                });
+            }
+        } catch (MailException e) {
+            byMessage.values().forEach(n -> failures.put(n, e));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(Notification notification)
+            throws MessagingException, GeneralSecurityException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(from);
+        helper.setTo(notification.getRecipient());
+        helper.setSubject(notification.getSubject());
+        helper.setText(render(notification));
+        return message;
+    }
+
+    private Map<Notification, Exception> logAll(List<Notification> due) {
+        for (Notification notification : due) {
+            log.info("[{}] To: {} | {} | {}", notification.getType(), notification.getRecipient(),
+                    notification.getSubject(), notification.getBody().replace(NotificationService.SECRET_PLACEHOLDER,
+                            "******"));
+        }
+        return Map.of();
+    }
+
+    private String render(Notification notification) throws GeneralSecurityException {
+        if (notification.getSecret() == null) {
+            return notification.getBody();
+        }
+        return notification.getBody().replace(NotificationService.SECRET_PLACEHOLDER,
+                cipher.open(notification.getSecret()));
+    }
+
+    private void delivered(Notification notification, LocalDateTime now) {
+        notification.setStatus(Notification.Status.SENT);
+        notification.setAttempts(notification.getAttempts() + 1);
+        notification.setSentAt(now);
+        notification.setLastError(null);
+        notification.setSecret(null);
+        release(notification);
+
+        long lag = Math.max(0, Duration.between(notification.getCreatedAt(), now).toMillis());
+        lastLagMillis = lag;
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        sent.incrementAndGet();
+    }
+
+    private void failed(Notification notification, Exception failure, LocalDateTime now) {
+        int attempts = notification.getAttempts() + 1;
+        notification.setAttempts(attempts);
+        String message = String.valueOf(failure.getMessage());
+        notification.setLastError(message.length() > 512 ? message.substring(0, 512) : message);
+        release(notification);
+
+        if (attempts >= maxAttempts) {
+            notification.setStatus(Notification.Status.FAILED);
+            notification.setSecret(null);
+            log.warn("Giving up on notification {} to {} after {} attempts: {}", notification.getId(),
+                    notification.getRecipient(), attempts, message);
+            return;
+        }
+        notification.setStatus(Notification.Status.PENDING);
+        notification.setNextAttemptAt(now.plus(backoff(attempts)));
+        retries.incrementAndGet();
+    }
+
+    private static void release(Notification notification) {
+        notification.setClaimToken(null);
+        notification.setClaimedUntil(null);
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis.get();
+    }
+}
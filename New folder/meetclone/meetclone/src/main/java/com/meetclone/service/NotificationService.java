@@ -0,0 +1,89 @@
+package com.meetclone.service;
+
+import com.meetclone.entity.Notification;
+import com.meetclone.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Front door of the outbound mail pipeline. Callers only insert an outbox
+ * row; {@link NotificationDispatcher} delivers it off the request thread.
+ */
+@Service
+public class NotificationService {
+
+    public static final String TYPE_OTP = "OTP";
+
+    // The outbox gauges read several fields per scrape; one set of queries serves them all.
+    private static final long STATS_CACHE_MILLIS = 5_000;
+
+    /** Stands in for the secret in a stored body; filled in only when the mail is built. */
+    public static final String SECRET_PLACEHOLDER = "{secret}";
+
+    @Autowired
+    private NotificationRepository repo;
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private OutboxCipher cipher;
+
+    private volatile Stats recentStats;
+    private volatile long restatAtMillis;
+
+    public Notification enqueue(String type, String recipient, String subject, String body) {
+        return enqueue(type, recipient, subject, body, null);
+    }
+
+    /**
+     * Queues a message whose body contains {@link #SECRET_PLACEHOLDER}. The
+     * secret is stored sealed, never appears in the body column or the log,
+     * and is cleared once the row is sent or given up on.
+     */
+    public Notification enqueue(String type, String recipient, String subject, String body, String secret) {
+        Notification notification = new Notification();
+        notification.setType(type);
+        notification.setRecipient(recipient);
+        notification.setSubject(subject);
+        notification.setBody(body);
+        if (secret != null) {
+            notification.setSecret(cipher.seal(secret));
+        }
+        Notification saved = repo.save(notification);
+        dispatcher.wakeUp();
+        return saved;
+    }
+
+    public Stats stats() {
+        LocalDateTime oldest = repo.findOldestCreatedAt(Notification.Status.PENDING);
+        long oldestAgeMillis = oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis());
+        return new Stats(
+                repo.countByStatus(Notification.Status.PENDING),
+                repo.countByStatus(Notification.Status.FAILED),
+                oldestAgeMillis,
+                dispatcher.getSentCount(),
+                dispatcher.getRetryCount(),
+                dispatcher.getLastLagMillis(),
+                dispatcher.getMaxLagMillis());
+    }
+
+    /** {@link #stats()}, reused for up to 5 s. */
+    public Stats recentStats() {
+        long now = System.currentTimeMillis();
+        Stats stats = recentStats;
+        if (stats == null || now >= restatAtMillis) {
+            stats = stats();
+            recentStats = stats;
+            restatAtMillis = now + STATS_CACHE_MILLIS;
+        }
+        return stats;
+    }
+
+    public record Stats(long queueDepth, long failed, long oldestPendingAgeMillis, long sent, long retries,
+            long lastDeliveryLagMillis, long maxDeliveryLagMillis) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.meetclone.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * AES-GCM sealing for secrets (one-time passwords) that must sit in the
+ * notification outbox until they are mailed. The key comes from
+ * meetclone.notifications.secret-key (base64, 16 or 32 bytes) and must be
+ * the same on every node. Without it a random key is used, so rows queued
+ * before a restart can no longer be opened and fail like any undeliverable
+ * message.
+ */
+@Component
+public class OutboxCipher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxCipher.class);
+
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${meetclone.notifications.secret-key:}")
+    private String configuredKey;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    public void init() {
+        byte[] raw;
+        if (configuredKey == null || configuredKey.isBlank()) {
+            raw = new byte[32];
+            random.nextBytes(raw);
+            log.warn("meetclone.notifications.secret-key is not set; using a per-process key");
+        } else {
+            raw = Base64.getDecoder().decode(configuredKey.trim());
+        }
+        key = new SecretKeySpec(raw, "AES");
+    }
+
+    public String seal(String plain) {
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] sealed = cipher.doFinal(plain.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(IV_BYTES + sealed.length)
+                    .put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot seal outbox secret", e);
+        }
+    }
+
+    public String open(String sealed) throws GeneralSecurityException {
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(sealed);
+        } catch (IllegalArgumentException e) {
+            throw new GeneralSecurityException("Malformed outbox secret", e);
+        }
+        if (bytes.length <= IV_BYTES) {
+            throw new GeneralSecurityException("Malformed outbox secret");
+        }
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_BYTES));
+        return new String(cipher.doFinal(bytes, IV_BYTES, bytes.length - IV_BYTES), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,227 @@
+package com.meetclone.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt hashing on a small, bounded pool of platform threads so a burst of
+ * logins queues here instead of occupying every request thread. When the
+ * queue is full, callers get a {@link RejectedExecutionException}.
+ * <p>
+ * With {@code meetclone.password.cost=0} the work factor is calibrated at
+ * startup to the highest cost that stays within target-latency.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    public static final int MAX_PASSWORD_BYTES = 72;
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+
+    private static final int CALIBRATION_COST = 8;
+
+    private static final String UNUSABLE_PREFIX = "{unusable}";
+
+    @Value("${meetclone.password.cost:0}")
+    private int configuredCost;
+
+    @Value("${meetclone.password.target-latency:100ms}")
+    private Duration targetLatency;
+
+    @Value("${meetclone.password.min-cost:10}")
+    private int minCost;
+
+    @Value("${meetclone.password.max-cost:16}")
+    private int maxCost;
+
+    @Value("${meetclone.password.threads:0}")
+    private int threads;
+
+    @Value("${meetclone.password.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${meetclone.password.timeout:5s}")
+    private Duration timeout;
+
+    private volatile int cost;
+    private volatile BCryptPasswordEncoder encoder;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().daemon().name("password-hash-", 0).factory());
+        setCost(configuredCost > 0 ? configuredCost : calibrate());
+        log.info("Password hashing: bcrypt cost {} on {} threads", cost, poolSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    int calibrate() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_COST);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-Password1");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        // Each additional cost step doubles the work.
+        int extra = 0;
+        long estimate = best;
+        while (estimate * 2 <= targetLatency.toNanos() && CALIBRATION_COST + extra < maxCost) {
+            estimate *= 2;
+            extra++;
+        }
+        return Math.max(minCost, Math.min(maxCost, CALIBRATION_COST + extra));
+    }
+
+    void setCost(int cost) {
+        this.cost = cost;
+        this.encoder = new BCryptPasswordEncoder(cost);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public String hash(String rawPassword) {
+        if (isTooLong(rawPassword)) {
+            throw new IllegalArgumentException("Password exceeds " + MAX_PASSWORD_BYTES + " bytes");
+        }
+        BCryptPasswordEncoder current = encoder;
+        return submit(() -> current.encode(rawPassword));
+    }
+
+    /**
+     * Hashes a batch of passwords for bulk work such as imports, keeping one
+     * task per pool thread in flight so every thread stays busy while the
+     * queue still has room for logins. Results are in input order.
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        for (String rawPassword : rawPasswords) {
+            if (isTooLong(rawPassword)) {
+                throw new IllegalArgumentException("Password exceeds " + MAX_PASSWORD_BYTES + " bytes");
+            }
+        }
+        BCryptPasswordEncoder current = encoder;
+        int window = executor.getMaximumPoolSize();
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> inFlight = new ArrayDeque<>(window);
+        int next = 0;
+        try {
+            while (hashes.size() < rawPasswords.size()) {
+                while (next < rawPasswords.size() && inFlight.size() < window) {
+                    String rawPassword = rawPasswords.get(next++);
+                    inFlight.add(executor.submit(() -> current.encode(rawPassword)));
+                }
+                hashes.add(await(inFlight.poll()));
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        return hashes;
+    }
+
+    /**
+     * Checks a password against a stored value. Values that are not bcrypt
+     * hashes are legacy plaintext rows and are compared directly.
+     */
+    public boolean matches(String rawPassword, String stored) {
+        if (rawPassword == null || stored == null) {
+            return false;
+        }
+        if (stored.startsWith(UNUSABLE_PREFIX)) {
+            return false;
+        }
+        if (!isHash(stored)) {
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+        }
+        if (isTooLong(rawPassword)) {
+            return false;
+        }
+        BCryptPasswordEncoder current = encoder;
+        return submit(() -> current.matches(rawPassword, stored));
+    }
+
+    /**
+     * A stored value that no password matches, for accounts created without
+     * one. The owner sets a password through the reset flow.
+     */
+    public String unusablePassword() {
+        return UNUSABLE_PREFIX + UUID.randomUUID();
+    }
+
+    public boolean isHashed(String stored) {
+        return stored != null && isHash(stored);
+    }
+
+    public boolean needsUpgrade(String stored) {
+        if (stored == null || stored.startsWith(UNUSABLE_PREFIX)) {
+            return false;
+        }
+        var matcher = BCRYPT.matcher(stored);
+        return !matcher.matches() || Integer.parseInt(matcher.group(1)) < cost;
+    }
+
+    public boolean isTooLong(String rawPassword) {
+        return rawPassword != null && rawPassword.getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private static boolean isHash(String stored) {
+        return BCRYPT.matcher(stored).matches();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        return await(executor.submit(task));
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing", e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Password hashing timed out", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
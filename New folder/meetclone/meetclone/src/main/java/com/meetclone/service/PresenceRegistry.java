@@ -0,0 +1,217 @@
+package com.meetclone.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live membership per meeting. Joins and leaves only touch in-memory state;
+ * participant counts reach the meetings table in periodic batched UPDATEs.
+ * A member whose last socket closes is kept for a short grace period so a
+ * page refresh does not count as leaving.
+ * <p>
+ * Meetings with anyone present also get meetings.last_activity_at bumped,
+ * at most once per heartbeat-interval, in one UPDATE per flush.
+ * {@link MeetingReaper} ends meetings whose heartbeat has gone stale.
+ */
+@Component
+public class PresenceRegistry {
+
+    private static final int HEARTBEAT_CHUNK = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${meetclone.presence.disconnect-grace:15s}")
+    private Duration disconnectGrace;
+
+    @Value("${meetclone.presence.lobby-timeout:15m}")
+    private Duration lobbyTimeout;
+
+    @Value("${meetclone.presence.heartbeat-interval:60s}")
+    private Duration heartbeatInterval = Duration.ofSeconds(60);
+
+    private final Map<String, MeetingPresence> meetings = new ConcurrentHashMap<>();
+
+    public boolean join(String meetingCode, Long meetingId, Long userId) {
+        return presence(meetingCode, meetingId).join(userId);
+    }
+
+    public void connect(String meetingCode, Long meetingId, Long userId) {
+        MeetingPresence presence = presence(meetingCode, meetingId);
+        presence.members.compute(userId, (id, member) -> {
+            if (member == null) {
+                member = new Member();
+                presence.added();
+            }
+            member.sockets.incrementAndGet();
+            member.disconnectedAt = 0;
+            return member;
+        });
+    }
+
+    public void disconnect(String meetingCode, Long userId) {
+        MeetingPresence presence = meetings.get(meetingCode);
+        if (presence == null) {
+            return;
+        }
+        presence.members.computeIfPresent(userId, (id, member) -> {
+            if (member.sockets.decrementAndGet() <= 0) {
+                member.sockets.set(0);
+                member.disconnectedAt = System.nanoTime();
+            }
+            return member;
+        });
+    }
+
+    public void leave(String meetingCode, Long userId) {
+        MeetingPresence presence = meetings.get(meetingCode);
+        if (presence != null && presence.members.remove(userId) != null) {
+            presence.removed();
+        }
+    }
+
+    public void remove(String meetingCode) {
+        meetings.remove(meetingCode);
+    }
+
+    public int getParticipantCount(String meetingCode) {
+        MeetingPresence presence = meetings.get(meetingCode);
+        return presence == null ? 0 : (int) presence.count.sum();
+    }
+
+    public int getLiveMeetingCount() {
+        int live = 0;
+        for (MeetingPresence presence : meetings.values()) {
+            if (presence.count.sum() > 0) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    public long getLiveParticipantCount() {
+        long total = 0;
+        for (MeetingPresence presence : meetings.values()) {
+            total += presence.count.sum();
+        }
+        return total;
+    }
+
+    @Scheduled(fixedDelayString = "${meetclone.presence.flush-interval-ms:5000}")
+    public void flush() {
+        expireDisconnected();
+
+        List<Object[]> batch = new ArrayList<>();
+        for (MeetingPresence presence : meetings.values()) {
+            if (presence.dirty && presence.meetingId != null) {
+                presence.dirty = false;
+                int count = (int) presence.count.sum();
+                if (count != presence.lastWritten) {
+                    batch.add(new Object[] { count, presence.meetingId });
+                    presence.lastWritten = count;
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE meetings SET participant_count = ? WHERE id = ?", batch);
+        }
+        writeHeartbeats();
+    }
+
+    private void writeHeartbeats() {
+        long now = System.nanoTime();
+        long intervalNanos = heartbeatInterval.toNanos();
+        List<Object> ids = new ArrayList<>();
+        for (MeetingPresence presence : meetings.values()) {
+            if (presence.meetingId != null && presence.count.sum() > 0
+                    && (presence.lastHeartbeat == 0 || now - presence.lastHeartbeat >= intervalNanos)) {
+                presence.lastHeartbeat = now;
+                ids.add(presence.meetingId);
+            }
+        }
+        Timestamp at = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < ids.size(); from += HEARTBEAT_CHUNK) {
+            List<Object> chunk = ids.subList(from, Math.min(ids.size(), from + HEARTBEAT_CHUNK));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(at);
+            args.addAll(chunk);
+            jdbcTemplate.update("UPDATE meetings SET last_activity_at = ? WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")", args.toArray());
+        }
+    }
+
+    private void expireDisconnected() {
+        long now = System.nanoTime();
+        long graceNanos = disconnectGrace.toNanos();
+        long lobbyNanos = lobbyTimeout.toNanos();
+        for (MeetingPresence presence : meetings.values()) {
+            for (Long userId : presence.members.keySet()) {
+                presence.members.computeIfPresent(userId, (id, member) -> {
+                    boolean gone = member.sockets.get() == 0 && (member.disconnectedAt != 0
+                            ? now - member.disconnectedAt > graceNanos
+                            : now - member.joinedAt > lobbyNanos);
+                    if (gone) {
+                        presence.removed();
+                        return null;
+                    }
+                    return member;
+                });
+            }
+        }
+    }
+
+    private MeetingPresence presence(String meetingCode, Long meetingId) {
+        return meetings.computeIfAbsent(meetingCode, code -> new MeetingPresence(meetingId));
+    }
+
+    private static final class MeetingPresence {
+        private final Long meetingId;
+        private final Map<Long, Member> members = new ConcurrentHashMap<>();
+        private final LongAdder count = new LongAdder();
+        private volatile boolean dirty;
+        private int lastWritten = -1;
+        private long lastHeartbeat;
+
+        private MeetingPresence(Long meetingId) {
+            this.meetingId = meetingId;
+        }
+
+        private boolean join(Long userId) {
+            if (members.putIfAbsent(userId, new Member()) == null) {
+                added();
+                return true;
+            }
+            return false;
+        }
+
+        private void added() {
+            count.increment();
+            dirty = true;
+        }
+
+        private void removed() {
+            count.decrement();
+            dirty = true;
+        }
+    }
+
+    private static final class Member {
+        private final AtomicInteger sockets = new AtomicInteger();
+        private final long joinedAt = System.nanoTime();
+        private volatile long disconnectedAt;
+    }
+}
@@ -0,0 +1,113 @@
+package com.meetclone.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named rate-limit policies for the unauthenticated endpoints. Each policy
+ * is written as "capacity/window", e.g. "10/5m" allows a burst of 10 and
+ * then 10 more every five minutes.
+ */
+@Service
+public class RateLimitService {
+
+    public static final String LOGIN_IP = "login-ip";
+    public static final String LOGIN_EMAIL = "login-email";
+    public static final String OTP_SEND_IP = "otp-send-ip";
+    public static final String OTP_SEND_EMAIL = "otp-send-email";
+    public static final String OTP_VERIFY = "otp-verify";
+    public static final String JOIN_IP = "join-ip";
+    public static final String JOIN_CODE = "join-code";
+
+    @Value("${meetclone.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${meetclone.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${meetclone.rate-limit.login-ip:30/1m}")
+    private String loginIp;
+
+    @Value("${meetclone.rate-limit.login-email:10/5m}")
+    private String loginEmail;
+
+    @Value("${meetclone.rate-limit.otp-send-ip:10/15m}")
+    private String otpSendIp;
+
+    @Value("${meetclone.rate-limit.otp-send-email:3/15m}")
+    private String otpSendEmail;
+
+    @Value("${meetclone.rate-limit.otp-verify:5/5m}")
+    private String otpVerify;
+
+    @Value("${meetclone.rate-limit.join-ip:30/1m}")
+    private String joinIp;
+
+    @Value("${meetclone.rate-limit.join-code:300/1m}")
+    private String joinCode;
+
+    private final Map<String, TokenBucketLimiter> limiters = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        limiters.put(LOGIN_IP, parse(LOGIN_IP, loginIp));
+        limiters.put(LOGIN_EMAIL, parse(LOGIN_EMAIL, loginEmail));
+        limiters.put(OTP_SEND_IP, parse(OTP_SEND_IP, otpSendIp));
+        limiters.put(OTP_SEND_EMAIL, parse(OTP_SEND_EMAIL, otpSendEmail));
+        limiters.put(OTP_VERIFY, parse(OTP_VERIFY, otpVerify));
+        limiters.put(JOIN_IP, parse(JOIN_IP, joinIp));
+        limiters.put(JOIN_CODE, parse(JOIN_CODE, joinCode));
+    }
+
+    /**
+     * Returns 0 if the request may proceed, otherwise the milliseconds until
+     * the policy will admit another one for this key. A null key is not
+     * limited.
+     */
+    public long tryAcquire(String policy, String key) {
+        if (!enabled || key == null) {
+            return 0;
+        }
+        return limiters.get(policy).tryAcquire(key, System.currentTimeMillis());
+    }
+
+    public Map<String, Integer> getKeyCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        limiters.forEach((name, limiter) -> counts.put(name, limiter.getKeyCount()));
+        return counts;
+    }
+
+    @Scheduled(fixedDelayString = "${meetclone.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (TokenBucketLimiter limiter : limiters.values()) {
+            limiter.evictIdle(now);
+        }
+    }
+
+    private TokenBucketLimiter parse(String name, String spec) {
+        int slash = spec.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalStateException("meetclone.rate-limit." + name + " must look like 10/5m, got " + spec);
+        }
+        int capacity = Integer.parseInt(spec.substring(0, slash).trim());
+        Duration window = parseWindow(spec.substring(slash + 1).trim());
+        return new TokenBucketLimiter(capacity, window, maxKeys);
+    }
+
+    private static Duration parseWindow(String window) {
+        long amount = Long.parseLong(window.substring(0, window.length() - 1));
+        return switch (window.charAt(window.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalStateException("Unknown rate-limit window unit: " + window);
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.meetclone.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed set of single-threaded workers. Every task for a given meeting code
+ * runs on the same worker, so per-room state never needs locking. Socket
+ * writes are handed off to virtual threads so a blocked client never holds
+ * up a shard. Delayed tasks wait on one timer thread and then run on their
+ * room's shard like any other task.
+ */
+@Component
+public class RoomShardExecutor {
+
+    @Value("${meetclone.rooms.shards:0}")
+    private int shardCount;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService[] shards;
+
+    private ExecutorService sendExecutor;
+
+    private ScheduledExecutorService timer;
+
+    @PostConstruct
+    public void start() {
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        shards = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+            shards[i] = Executors.newSingleThreadExecutor(builder.name("room-shard-" + i).factory());
+        }
+        sendExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("room-send-", 0).factory());
+        timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("room-timer").factory());
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+        sendExecutor.shutdown();
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        for (ExecutorService shard : shards) {
+            try {
+                shard.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public void execute(String roomKey, Runnable task) {
+        shards[shardOf(roomKey)].execute(task);
+    }
+
+    public void schedule(String roomKey, Runnable task, long delay, TimeUnit unit) {
+        timer.schedule(() -> execute(roomKey, task), delay, unit);
+    }
+
+    public int shardOf(String roomKey) {
+        int h = roomKey.hashCode();
+        h ^= (h >>> 16);
+        return Math.floorMod(h, shards.length);
+    }
+
+    public Executor getSendExecutor() {
+        return sendExecutor;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+}
@@ -0,0 +1,207 @@
+package com.meetclone.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.TextMessage;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * WebRTC signaling for a full mesh. Each socket is a peer, identified by
+ * its connection id. On joining, a peer gets the list of peers already in
+ * the room and sends an offer to each of them. Offers, answers and ICE
+ * candidates carry a "to" peer id and go to that peer only, stamped with
+ * "from".
+ * <p>
+ * ICE candidates arrive in bursts of single messages. They are held per
+ * (from, to) pair for up to ice-batch-window and then sent as one message,
+ * or sooner once ice-batch-max are waiting. An offer or answer for the same
+ * pair first flushes that pair's pending candidates, so candidates never
+ * overtake the description they belong to. All room state is confined to
+ * the room's shard worker.
+ */
+@Service
+public class SignalingService {
+
+    public static final int MAX_SDP_LENGTH = 64 * 1024;
+    public static final int MAX_CANDIDATE_LENGTH = 2048;
+
+    @Autowired
+    private RoomShardExecutor shards;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${meetclone.signaling.ice-batch-window-ms:20}")
+    private long iceBatchWindowMs;
+
+    @Value("${meetclone.signaling.ice-batch-max:16}")
+    private int iceBatchMax;
+
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+
+    public void join(MeetingConnection connection) {
+        String code = connection.getMeetingCode();
+        shards.execute(code, () -> {
+            Room room = rooms.computeIfAbsent(code, k -> new Room());
+            ObjectNode list = objectMapper.createObjectNode();
+            list.put("type", "peers");
+            list.put("self", connection.getId());
+            ArrayNode peers = list.putArray("peers");
+            for (MeetingConnection peer : room.peers.values()) {
+                peers.add(describe(peer));
+            }
+            connection.send(frame(list));
+
+            ObjectNode joined = describe(connection);
+            joined.put("type", "peer-joined");
+            TextMessage notice = frame(joined);
+            for (MeetingConnection peer : room.peers.values()) {
+                peer.send(notice);
+            }
+            room.peers.put(connection.getId(), connection);
+        });
+    }
+
+    public void leave(MeetingConnection connection) {
+        String code = connection.getMeetingCode();
+        shards.execute(code, () -> {
+            Room room = rooms.get(code);
+            if (room == null || room.peers.remove(connection.getId()) == null) {
+                return;
+            }
+            room.pendingIce.values().removeIf(batch -> batch.from == connection || batch.to == connection);
+            if (room.peers.isEmpty()) {
+                rooms.remove(code);
+                return;
+            }
+            TextMessage notice = peerLeft(connection.getId());
+            for (MeetingConnection peer : room.peers.values()) {
+                peer.send(notice);
+            }
+        });
+    }
+
+    /**
+     * Routes an "offer", "answer" or "ice" message to its "to" peer.
+     *
+     * @return false if the message is malformed and was dropped
+     */
+    public boolean relay(MeetingConnection from, String type, JsonNode message) {
+        String to = message.path("to").asString(null);
+        if (to == null) {
+            return false;
+        }
+        switch (type) {
+            case "offer", "answer" -> {
+                String sdp = message.path("sdp").asString(null);
+                if (sdp == null || sdp.length() > MAX_SDP_LENGTH) {
+                    return false;
+                }
+                ObjectNode out = objectMapper.createObjectNode();
+                out.put("type", type);
+                out.put("from", from.getId());
+                out.put("sdp", sdp);
+                route(from, to, (room, target) -> {
+                    room.flushIce(from.getId() + '>' + to);
+                    target.send(frame(out));
+                });
+            }
+            case "ice" -> {
+                JsonNode candidate = message.get("candidate");
+                if (candidate == null || !candidate.isObject()
+                        || candidate.toString().length() > MAX_CANDIDATE_LENGTH) {
+                    return false;
+                }
+                route(from, to, (room, target) -> {
+                    String key = from.getId() + '>' + to;
+                    IceBatch batch = room.pendingIce.get(key);
+                    if (batch == null) {
+                        IceBatch created = new IceBatch(from, target, objectMapper.createArrayNode());
+                        room.pendingIce.put(key, created);
+                        shards.schedule(from.getMeetingCode(), () -> {
+                            if (room.pendingIce.get(key) == created) {
+                                room.flushIce(key);
+                            }
+                        }, iceBatchWindowMs, TimeUnit.MILLISECONDS);
+                        batch = created;
+                    }
+                    batch.candidates.add(candidate);
+                    if (batch.candidates.size() >= iceBatchMax) {
+                        room.flushIce(key);
+                    }
+                });
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    private void route(MeetingConnection from, String to, BiConsumer<Room, MeetingConnection> delivery) {
+        String code = from.getMeetingCode();
+        shards.execute(code, () -> {
+            Room room = rooms.get(code);
+            MeetingConnection target = room == null ? null : room.peers.get(to);
+            if (target == null || room.peers.get(from.getId()) != from) {
+                from.send(peerLeft(to));
+                return;
+            }
+            delivery.accept(room, target);
+        });
+    }
+
+    private ObjectNode describe(MeetingConnection connection) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", connection.getId());
+        node.put("userId", connection.getUserId());
+        node.put("username", connection.getUsername());
+        return node;
+    }
+
+    private TextMessage peerLeft(String id) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("type", "peer-left");
+        node.put("id", id);
+        return frame(node);
+    }
+
+    private TextMessage frame(ObjectNode node) {
+        return new TextMessage(objectMapper.writeValueAsBytes(node));
+    }
+
+    private record IceBatch(MeetingConnection from, MeetingConnection to, ArrayNode candidates) {
+    }
+
+    private final class Room {
+        private final Map<String, MeetingConnection> peers = new LinkedHashMap<>();
+        private final Map<String, IceBatch> pendingIce = new HashMap<>();
+
+        private void flushIce(String key) {
+            IceBatch batch = pendingIce.remove(key);
+            if (batch == null) {
+                return;
+            }
+            ObjectNode out = objectMapper.createObjectNode();
+            out.put("type", "ice");
+            out.put("from", batch.from.getId());
+            out.set("candidates", batch.candidates);
+            batch.to.send(frame(out));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.meetclone.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by an arbitrary string. Each bucket holds up to
+ * capacity tokens and refills capacity tokens per window.
+ * <p>
+ * A bucket is one AtomicLong. The high 44 bits hold the last refill time in
+ * milliseconds. The low 20 bits hold the token count in thousandths of a
+ * token. Acquiring is a map lookup plus a CAS loop, with no locks. A bucket
+ * that has been idle for a whole window is full again, which is the same as
+ * having no bucket, so {@link #evictIdle} can drop it.
+ * <p>
+ * The map never grows past maxKeys (give or take concurrent inserts). A
+ * new key that arrives at the limit triggers an inline sweep, at most once
+ * per sweep interval. If the map is still full, the key is charged to one
+ * shared overflow bucket, so a flood of distinct keys is throttled as a
+ * whole instead of growing the map or rescanning it on every request.
+ */
+public class TokenBucketLimiter {
+
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE = 1000;
+    private static final long MAX_SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final int capacity;
+    private final long windowMillis;
+    private final long fullTokens;
+    private final int maxKeys;
+    private final long sweepIntervalMillis;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final AtomicLong lastSweepMillis = new AtomicLong(Long.MIN_VALUE / 2);
+
+    public TokenBucketLimiter(int capacity, Duration window, int maxKeys) {
+        if (capacity < 1 || capacity * ONE > TOKEN_MASK) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + TOKEN_MASK / ONE);
+        }
+        if (window.toMillis() < 1) {
+            throw new IllegalArgumentException("window must be at least 1ms");
+        }
+        this.capacity = capacity;
+        this.windowMillis = window.toMillis();
+        this.fullTokens = capacity * ONE;
+        this.maxKeys = maxKeys;
+        this.sweepIntervalMillis = Math.min(windowMillis, MAX_SWEEP_INTERVAL_MILLIS);
+        this.overflow = new AtomicLong(pack(0, fullTokens));
+    }
+
+    /**
+     * Takes one token for key. Returns 0 if a token was available, otherwise
+     * the number of milliseconds until one will be.
+     */
+    public long tryAcquire(String key, long nowMillis) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                long last = lastSweepMillis.get();
+                if (nowMillis - last >= sweepIntervalMillis && lastSweepMillis.compareAndSet(last, nowMillis)) {
+                    evictIdle(nowMillis);
+                }
+                if (buckets.size() >= maxKeys) {
+                    return acquire(overflow, nowMillis);
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(pack(nowMillis, fullTokens)));
+        }
+        return acquire(bucket, nowMillis);
+    }
+
+    private long acquire(AtomicLong bucket, long nowMillis) {
+        while (true) {
+            long state = bucket.get();
+            long last = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+            long elapsed = Math.min(nowMillis - last, windowMillis);
+            if (elapsed > 0) {
+                long refill = elapsed * fullTokens / windowMillis;
+                if (refill > 0) {
+                    tokens = Math.min(fullTokens, tokens + refill);
+                    last = nowMillis;
+                }
+            }
+            if (tokens < ONE) {
+                return Math.max(1, ((ONE - tokens) * windowMillis + fullTokens - 1) / fullTokens);
+            }
+            if (bucket.compareAndSet(state, pack(last, tokens - ONE))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely. A request racing with the
+     * removal may spend a token from the dropped bucket; since that bucket
+     * was full, the key gets at most one extra token.
+     */
+    public int evictIdle(long nowMillis) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> nowMillis - (bucket.get() >>> TOKEN_BITS) >= windowMillis);
+        return before - buckets.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Duration getWindow() {
+        return Duration.ofMillis(windowMillis);
+    }
+
+    public int getKeyCount() {
+        return buckets.size();
+    }
+
+    private static long pack(long timeMillis, long tokens) {
+        return (timeMillis << TOKEN_BITS) | tokens;
+    }
+}
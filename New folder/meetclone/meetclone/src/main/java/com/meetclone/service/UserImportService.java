@@ -0,0 +1,403 @@
+package com.meetclone.service;
+
+import com.meetclone.dto.ImportReport;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk user import from CSV (with a header row) or NDJSON. The upload is
+ * read one record at a time and handled in chunks, so memory stays flat
+ * whatever the file size. Each chunk is:
+ * <ol>
+ * <li>validated with the signup rules</li>
+ * <li>checked for duplicates with one IN query on email and one on
+ * username</li>
+ * <li>inserted with one JDBC batch in a transaction</li>
+ * </ol>
+ * <p>
+ * Recognised fields are email, username, fullName, password and
+ * passwordHash. A bcrypt passwordHash is stored as is. A plaintext password
+ * must pass the signup rules. A chunk's plaintext passwords are hashed
+ * together, one per hashing-pool thread at a time, which is still by far
+ * the slowest part of an import. Rows with neither get an
+ * unusable password, and the user sets one through "forgot password".
+ */
+@Service
+public class UserImportService {
+
+    public static final int CHUNK_SIZE = 1000;
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT = "INSERT INTO users (email, username, password, full_name, is_active, role,"
+            + " created_at) VALUES (?, ?, ?, ?, TRUE, 'USER', ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private AdminStatsService adminStats;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportReport importUsers(InputStream in, String format) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RowSource source = "ndjson".equalsIgnoreCase(format) ? new NdjsonSource(reader, objectMapper)
+                : new CsvSource(reader);
+        Report report = new Report();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        Row row;
+        while ((row = source.next()) != null) {
+            report.rows++;
+            String error = row.error != null ? row.error : validate(row);
+            if (error != null) {
+                report.reject(row, error);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+        return new ImportReport(report.rows, report.imported, report.rejected, report.errors,
+                report.rejected > report.errors.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private String validate(Row row) {
+        row.email = row.email == null ? null : userService.sanitizeInput(row.email).toLowerCase(Locale.ROOT);
+        row.username = row.username == null ? null : userService.sanitizeInput(row.username);
+        row.fullName = row.fullName == null ? null : userService.sanitizeInput(row.fullName);
+        if (!userService.isValidEmail(row.email)) {
+            return "Invalid email format.";
+        }
+        if (!userService.isValidUsername(row.username)) {
+            return "Invalid username.";
+        }
+        if (row.passwordHash != null && !row.passwordHash.isEmpty()) {
+            if (!passwordHasher.isHashed(row.passwordHash)) {
+                return "passwordHash is not a bcrypt hash.";
+            }
+        } else if (row.password != null && !row.password.isEmpty()) {
+            if (!userService.isValidPassword(row.password)) {
+                return "Password must be at least 8 characters and contain uppercase, lowercase, and numbers.";
+            }
+            if (userService.isPasswordTooLong(row.password)) {
+                return "Password is too long.";
+            }
+        }
+        return null;
+    }
+
+    private void importChunk(List<Row> chunk, Report report) {
+        Set<String> emails = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        List<Row> unique = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (!emails.add(row.email)) {
+                report.reject(row, "Duplicate email in file.");
+            } else if (!usernames.add(row.username.toLowerCase(Locale.ROOT))) {
+                report.reject(row, "Duplicate username in file.");
+            } else {
+                unique.add(row);
+            }
+        }
+
+        Set<String> takenEmails = existing("email", emails);
+        Set<String> takenUsernames = existing("username", usernames);
+        List<Row> accepted = new ArrayList<>(unique.size());
+        for (Row row : unique) {
+            if (takenEmails.contains(row.email)) {
+                report.reject(row, "Email already registered.");
+            } else if (takenUsernames.contains(row.username.toLowerCase(Locale.ROOT))) {
+                report.reject(row, "Username already taken.");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> passwords = storedPasswords(accepted);
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Row row = accepted.get(i);
+            batch.add(new Object[] { row.email, row.username, passwords.get(i), row.fullName, createdAt });
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, batch));
+            report.imported += accepted.size();
+            adminStats.usersImported(accepted.size());
+        } catch (DuplicateKeyException e) {
+            // Someone signed up with one of these between the check and the
+            // insert; the batch rolled back, so insert row by row instead.
+            int inserted = 0;
+            for (int i = 0; i < accepted.size(); i++) {
+                try {
+                    jdbcTemplate.update(INSERT, batch.get(i));
+                    inserted++;
+                } catch (DuplicateKeyException duplicate) {
+                    report.reject(accepted.get(i), "Email or username already registered.");
+                }
+            }
+            report.imported += inserted;
+            adminStats.usersImported(inserted);
+        }
+    }
+
+    private Set<String> existing(String column, Set<String> values) {
+        if (values.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(values.size(), "?"));
+        List<String> found = jdbcTemplate.queryForList("SELECT " + column + " FROM users WHERE " + column + " IN ("
+                + placeholders + ")", String.class, values.toArray());
+        Set<String> taken = new HashSet<>(found.size() * 2);
+        for (String value : found) {
+            taken.add(value.toLowerCase(Locale.ROOT));
+        }
+        return taken;
+    }
+
+    /** The password column for each row; the chunk's plaintext passwords are hashed together across the pool. */
+    private List<String> storedPasswords(List<Row> rows) {
+        List<String> stored = new ArrayList<>(rows.size());
+        List<Integer> plaintextAt = new ArrayList<>();
+        List<String> plaintext = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.passwordHash != null && !row.passwordHash.isEmpty()) {
+                stored.add(row.passwordHash);
+            } else if (row.password != null && !row.password.isEmpty()) {
+                plaintextAt.add(stored.size());
+                plaintext.add(row.password);
+                stored.add(null);
+            } else {
+                stored.add(passwordHasher.unusablePassword());
+            }
+        }
+        if (!plaintext.isEmpty()) {
+            List<String> hashes = passwordHasher.hashAll(plaintext);
+            for (int i = 0; i < hashes.size(); i++) {
+                stored.set(plaintextAt.get(i), hashes.get(i));
+            }
+        }
+        return stored;
+    }
+
+    private static final class Report {
+        private long rows;
+        private long imported;
+        private long rejected;
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+
+        private void reject(Row row, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReport.RowError(row.number, row.email, message));
+            }
+        }
+    }
+
+    private static final class Row {
+        private final long number;
+        private String email;
+        private String username;
+        private String fullName;
+        private String password;
+        private String passwordHash;
+        private String error;
+
+        private Row(long number) {
+            this.number = number;
+        }
+
+        private void set(String field, String value) {
+            switch (field.toLowerCase(Locale.ROOT).replace("_", "")) {
+                case "email" -> email = value;
+                case "username" -> username = value;
+                case "fullname" -> fullName = value;
+                case "password" -> password = value;
+                case "passwordhash" -> passwordHash = value;
+                default -> {
+                }
+            }
+        }
+    }
+
+    private interface RowSource {
+        Row next() throws IOException;
+    }
+
+    private static final class NdjsonSource implements RowSource {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long number;
+
+        private NdjsonSource(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            Row row = new Row(++number);
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (!node.isObject()) {
+                    row.error = "Expected a JSON object.";
+                    return row;
+                }
+                for (Map.Entry<String, JsonNode> field : node.properties()) {
+                    if (field.getValue().isValueNode() && !field.getValue().isNull()) {
+                        row.set(field.getKey(), field.getValue().asString());
+                    }
+                }
+            } catch (JacksonException e) {
+                row.error = "Malformed JSON.";
+            }
+            return row;
+        }
+    }
+
+    /**
+     * RFC 4180 reader: comma-separated, double-quoted fields may contain
+     * commas, doubled quotes and line breaks.
+     */
+    private static final class CsvSource implements RowSource {
+        private final BufferedReader reader;
+        private List<String> header;
+        private long number;
+
+        private CsvSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (header == null) {
+                header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+                if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                    header.set(0, header.get(0).substring(1));
+                }
+            }
+            List<String> values;
+            do {
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+            Row row = new Row(++number);
+            if (values.size() > header.size()) {
+                row.error = "Row has more fields than the header.";
+                return row;
+            }
+            for (int i = 0; i < values.size(); i++) {
+                row.set(header.get(i).trim(), values.get(i));
+            }
+            return row;
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (c >= 0) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (next >= 0) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -8,7 +8,6 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Random;
-import java.util.regex.Pattern;
 
 @Service
 public class UserService {
@@ -16,9 +15,17 @@ public class UserService {
     @Autowired
     private UserRepository repo;
 
-    private static final String EMAIL_REGEX = "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
 
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Autowired
+    private AdminStatsService adminStats;
 
     public boolean emailExists(String email) {
         return repo.existsByEmail(email);
@@ -29,68 +36,20 @@ public class UserService {
     }
 
     public boolean isValidEmail(String email) {
-        if (email == null || email.trim().isEmpty()) {
-            return false;
-        }
-
-        email = email.trim().toLowerCase();
-
-        if (!EMAIL_PATTERN.matcher(email).matches()) {
-            return false;
-        }
-
-        if (email.length() > 254) {
-            return false;
-        }
-
-        String[] parts = email.split("@");
-        if (parts.length != 2) {
-            return false;
-        }
-
-        String localPart = parts[0];
-        if (localPart.length() > 64) {
-            return false;
-        }
-
-        String domain = parts[1];
-        if (domain.length() > 255) {
-            return false;
-        }
-
-        String[] disposableDomains = { "tempmail.com", "throwaway.email", "guerrillamail.com" };
-        for (String disposable : disposableDomains) {
-            if (domain.equalsIgnoreCase(disposable)) {
-                return false;
-            }
-        }
-
-        return true;
+        return InputValidator.isValidEmail(email);
     }
 
     public boolean isValidPassword(String password) {
-        if (password == null || password.length() < 8) {
-            return false;
-        }
-
-        boolean hasUpper = false;
-        boolean hasLower = false;
-        boolean hasDigit = false;
-
-        for (char c : password.toCharArray()) {
-            if (Character.isUpperCase(c))
-                hasUpper = true;
-            if (Character.isLowerCase(c))
-                hasLower = true;
-            if (Character.isDigit(c))
-                hasDigit = true;
-        }
-
-        return hasUpper && hasLower && hasDigit;
+        return InputValidator.isValidPassword(password);
     }
 
     public User createUser(User user) {
-        return repo.save(user);
+        boolean isNew = user.getId() == null;
+        User saved = repo.save(user);
+        if (isNew) {
+            adminStats.userRegistered();
+        }
+        return saved;
     }
 
     public Optional<User> getUserByEmail(String email) {
@@ -102,14 +61,40 @@ public class UserService {
     }
 
     public boolean verifyPassword(String rawPassword, String savedPassword) {
-        return rawPassword != null && rawPassword.equals(savedPassword);
+        return passwordHasher.matches(rawPassword, savedPassword);
+    }
+
+    /**
+     * Verifies the password and, on success, rehashes it if the stored value
+     * is legacy plaintext or was hashed with a lower cost than the current one.
+     */
+    public boolean authenticate(User user, String rawPassword) {
+        if (!passwordHasher.matches(rawPassword, user.getPassword())) {
+            return false;
+        }
+        if (passwordHasher.needsUpgrade(user.getPassword()) && !passwordHasher.isTooLong(rawPassword)) {
+            try {
+                String upgraded = passwordHasher.hash(rawPassword);
+                repo.updatePassword(user.getId(), upgraded);
+                user.setPassword(upgraded);
+            } catch (RuntimeException e) {
+                // keep the old hash; the next login tries again
+            }
+        }
+        return true;
     }
 
-    public void updateLastLogin(Long id) {
-        repo.findById(id).ifPresent(user -> {
-            user.setLastLogin(LocalDateTime.now());
-            repo.save(user);
-        });
+    public String hashPassword(String rawPassword) {
+        return passwordHasher.hash(rawPassword);
+    }
+
+    public boolean isPasswordTooLong(String rawPassword) {
+        return passwordHasher.isTooLong(rawPassword);
+    }
+
+    public void updateLastLogin(User user) {
+        adminStats.userLoggedIn(user.getId(), user.getLastLogin());
+        lastLoginBuffer.record(user.getId(), LocalDateTime.now());
     }
 
     public String generateOtp() {
@@ -119,11 +104,7 @@ public class UserService {
     }
 
     public boolean isValidOtp(String otp) {
-        if (otp == null || otp.length() != 6) {
-            return false;
-        }
-
-        return otp.matches("\\d{6}");
+        return InputValidator.isValidOtp(otp);
     }
 
     public boolean verifyOtp(String inputOtp, String savedOtp) {
@@ -143,32 +124,16 @@ public class UserService {
     }
 
     public void sendOtpEmail(String email, String otp) {
-        System.out.println("===========================================");
-        System.out.println("SENDING OTP EMAIL");
-        System.out.println("To: " + email);
-        System.out.println("OTP: " + otp);
-        System.out.println("===========================================");
-
+        notificationService.enqueue(NotificationService.TYPE_OTP, email, "Your MeetClone verification code",
+                "Your one-time password is " + NotificationService.SECRET_PLACEHOLDER + ". It expires in 5 minutes.",
+                otp);
     }
 
     public boolean isValidUsername(String username) {
-        if (username == null || username.length() < 3 || username.length() > 20) {
-            return false;
-        }
-
-        return username.matches("^[a-zA-Z][a-zA-Z0-9_]*$");
+        return InputValidator.isValidUsername(username);
     }
 
     public String sanitizeInput(String input) {
-        if (input == null) {
-            return null;
-        }
-
-        return input.trim()
-                .replaceAll("<", "&lt;")
-                .replaceAll(">", "&gt;")
-                .replaceAll("\"", "&quot;")
-                .replaceAll("'", "&#x27;")
-                .replaceAll("/", "&#x2F;");
+        return InputValidator.sanitize(input);
     }
 }
@@ -0,0 +1,121 @@
+package com.meetclone.session;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * A {@link MapSession} plus what was last written for it, so the repository
+ * can tell an unchanged session from a modified one.
+ */
+public final class CompactSession implements Session {
+
+    private final MapSession delegate;
+    private String storedId;
+    private byte[] storedPayload;
+    private long storedExpiresAt;
+
+    CompactSession(MapSession delegate, String storedId, byte[] storedPayload, long storedExpiresAt) {
+        this.delegate = delegate;
+        this.storedId = storedId;
+        this.storedPayload = storedPayload;
+        this.storedExpiresAt = storedExpiresAt;
+    }
+
+    MapSession getDelegate() {
+        return delegate;
+    }
+
+    String getStoredId() {
+        return storedId;
+    }
+
+    byte[] getStoredPayload() {
+        return storedPayload;
+    }
+
+    long getStoredExpiresAt() {
+        return storedExpiresAt;
+    }
+
+    void markStored(byte[] payload, long expiresAt) {
+        this.storedId = delegate.getId();
+        this.storedPayload = payload;
+        this.storedExpiresAt = expiresAt;
+    }
+
+    void markTouched(long expiresAt) {
+        this.storedExpiresAt = expiresAt;
+    }
+
+    long getExpiresAt() {
+        Duration maxInactive = delegate.getMaxInactiveInterval();
+        if (maxInactive.isNegative()) {
+            return Long.MAX_VALUE;
+        }
+        return delegate.getLastAccessedTime().plus(maxInactive).toEpochMilli();
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public String changeSessionId() {
+        return delegate.changeSessionId();
+    }
+
+    @Override
+    public <T> T getAttribute(String attributeName) {
+        return delegate.getAttribute(attributeName);
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        return delegate.getAttributeNames();
+    }
+
+    @Override
+    public void setAttribute(String attributeName, Object attributeValue) {
+        delegate.setAttribute(attributeName, attributeValue);
+    }
+
+    @Override
+    public void removeAttribute(String attributeName) {
+        delegate.removeAttribute(attributeName);
+    }
+
+    @Override
+    public Instant getCreationTime() {
+        return delegate.getCreationTime();
+    }
+
+    @Override
+    public void setLastAccessedTime(Instant lastAccessedTime) {
+        delegate.setLastAccessedTime(lastAccessedTime);
+    }
+
+    @Override
+    public Instant getLastAccessedTime() {
+        return delegate.getLastAccessedTime();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(Duration interval) {
+        delegate.setMaxInactiveInterval(interval);
+    }
+
+    @Override
+    public Duration getMaxInactiveInterval() {
+        return delegate.getMaxInactiveInterval();
+    }
+
+    @Override
+    public boolean isExpired() {
+        return delegate.isExpired();
+    }
+}
@@ -0,0 +1,99 @@
+package com.meetclone.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSession;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Spring Session repository over a pluggable {@link SessionStore}, with
+ * sessions encoded by {@link SessionCodec}.
+ * <p>
+ * save() writes the payload only when its bytes changed. If only the expiry
+ * moved, it writes the new expiry, and only once the expiry is at least
+ * touch-interval past the stored one. A session that is read on every
+ * request therefore costs one store write per touch-interval, not one per
+ * request. In return, expiry is accurate only to within touch-interval.
+ */
+public class CompactSessionRepository implements SessionRepository<CompactSession> {
+
+    private static final Logger log = LoggerFactory.getLogger(CompactSessionRepository.class);
+
+    private final SessionStore store;
+    private final Duration defaultMaxInactiveInterval;
+    private final long touchIntervalMillis;
+
+    public CompactSessionRepository(SessionStore store, Duration defaultMaxInactiveInterval, Duration touchInterval) {
+        this.store = store;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.touchIntervalMillis = touchInterval.toMillis();
+    }
+
+    @Override
+    public CompactSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return new CompactSession(session, null, null, 0);
+    }
+
+    @Override
+    public void save(CompactSession session) {
+        String id = session.getId();
+        String storedId = session.getStoredId();
+        boolean idChanged = storedId != null && !storedId.equals(id);
+        if (idChanged) {
+            store.delete(storedId);
+        }
+
+        byte[] payload = SessionCodec.encode(session);
+        long expiresAt = session.getExpiresAt();
+        if (idChanged || session.getStoredPayload() == null || !Arrays.equals(payload, session.getStoredPayload())) {
+            store.save(id, payload, expiresAt);
+            session.markStored(payload, expiresAt);
+        } else if (expiresAt - session.getStoredExpiresAt() >= touchIntervalMillis) {
+            store.touch(id, expiresAt);
+            session.markTouched(expiresAt);
+        }
+    }
+
+    @Override
+    public CompactSession findById(String id) {
+        SessionStore.StoredSession stored = store.load(id);
+        if (stored == null) {
+            return null;
+        }
+        if (stored.expiresAtMillis() <= System.currentTimeMillis()) {
+            store.delete(id);
+            return null;
+        }
+        MapSession probe;
+        try {
+            probe = SessionCodec.decode(id, stored.payload(), Instant.EPOCH);
+        } catch (RuntimeException e) {
+            // Corrupt, truncated, or carrying a type the codec's filter refuses.
+            log.warn("Discarding session that cannot be decoded: {}", e.getMessage());
+            store.delete(id);
+            return null;
+        }
+        Duration maxInactive = probe.getMaxInactiveInterval();
+        Instant lastAccessed = maxInactive.isNegative() ? Instant.now()
+                : Instant.ofEpochMilli(stored.expiresAtMillis()).minus(maxInactive);
+        probe.setLastAccessedTime(lastAccessed);
+        return new CompactSession(probe, id, stored.payload(), stored.expiresAtMillis());
+    }
+
+    @Override
+    public void deleteById(String id) {
+        store.delete(id);
+    }
+
+    @Scheduled(fixedDelayString = "${meetclone.session.cleanup-interval-ms:60000}")
+    public void purgeExpired() {
+        store.purgeExpired(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,77 @@
+package com.meetclone.session;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Shared session store for multi-node deployments: one row per session in
+ * {@code http_sessions}, keyed by id, holding the codec payload and the
+ * expiry in epoch milliseconds. Every node reads and writes the same rows,
+ * so the load balancer needs no sticky sessions. The table comes from the
+ * db/migration scripts (V3__http_sessions.sql).
+ */
+public class JdbcSessionStore implements SessionStore {
+
+    // Scrapes within this long of the last count reuse it instead of
+    // querying again; several registries may read the gauge per scrape.
+    private static final long COUNT_CACHE_MILLIS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile long cachedCount;
+    private volatile long recountAtMillis;
+
+    public JdbcSessionStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public StoredSession load(String id) {
+        List<StoredSession> rows = jdbcTemplate.query("SELECT payload, expires_at FROM http_sessions WHERE id = ?",
+                (rs, i) -> new StoredSession(rs.getBytes(1), rs.getLong(2)), id);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public void save(String id, byte[] payload, long expiresAtMillis) {
+        String update = "UPDATE http_sessions SET payload = ?, expires_at = ? WHERE id = ?";
+        if (jdbcTemplate.update(update, payload, expiresAtMillis, id) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO http_sessions (id, expires_at, payload) VALUES (?, ?, ?)",
+                    id, expiresAtMillis, payload);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(update, payload, expiresAtMillis, id);
+        }
+    }
+
+    @Override
+    public void touch(String id, long expiresAtMillis) {
+        jdbcTemplate.update("UPDATE http_sessions SET expires_at = ? WHERE id = ?", expiresAtMillis, id);
+    }
+
+    @Override
+    public void delete(String id) {
+        jdbcTemplate.update("DELETE FROM http_sessions WHERE id = ?", id);
+    }
+
+    @Override
+    public int purgeExpired(long nowMillis) {
+        return jdbcTemplate.update("DELETE FROM http_sessions WHERE expires_at <= ?", nowMillis);
+    }
+
+    /** Counts across all nodes, served from the idx_http_sessions_expires index. */
+    @Override
+    public long countActive(long nowMillis) {
+        if (nowMillis >= recountAtMillis) {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM http_sessions WHERE expires_at > ?",
+                    Long.class, nowMillis);
+            cachedCount = count == null ? 0 : count;
+            recountAtMillis = nowMillis + COUNT_CACHE_MILLIS;
+        }
+        return cachedCount;
+    }
+}
@@ -0,0 +1,105 @@
+package com.meetclone.session;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-node session store that keeps payloads in direct buffers, outside
+ * the Java heap. Buffer capacity is rounded up to a power of two so a
+ * session that grows a little reuses its buffer. Per-key CHM compute
+ * serializes readers and writers of the same session.
+ */
+public class OffHeapSessionStore implements SessionStore {
+
+    private static final int MIN_CAPACITY = 128;
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong reservedBytes = new AtomicLong();
+
+    @Override
+    public StoredSession load(String id) {
+        StoredSession[] result = new StoredSession[1];
+        slots.computeIfPresent(id, (key, slot) -> {
+            byte[] payload = new byte[slot.length];
+            slot.buffer.get(0, payload);
+            result[0] = new StoredSession(payload, slot.expiresAt);
+            return slot;
+        });
+        return result[0];
+    }
+
+    @Override
+    public void save(String id, byte[] payload, long expiresAtMillis) {
+        slots.compute(id, (key, slot) -> {
+            if (slot == null || slot.buffer.capacity() < payload.length) {
+                if (slot != null) {
+                    reservedBytes.addAndGet(-slot.buffer.capacity());
+                }
+                int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(payload.length - 1) << 1);
+                slot = new Slot(ByteBuffer.allocateDirect(capacity));
+                reservedBytes.addAndGet(capacity);
+            }
+            slot.buffer.put(0, payload);
+            slot.length = payload.length;
+            slot.expiresAt = expiresAtMillis;
+            return slot;
+        });
+    }
+
+    @Override
+    public void touch(String id, long expiresAtMillis) {
+        slots.computeIfPresent(id, (key, slot) -> {
+            slot.expiresAt = expiresAtMillis;
+            return slot;
+        });
+    }
+
+    @Override
+    public void delete(String id) {
+        slots.computeIfPresent(id, (key, slot) -> {
+            reservedBytes.addAndGet(-slot.buffer.capacity());
+            return null;
+        });
+    }
+
+    @Override
+    public int purgeExpired(long nowMillis) {
+        int purged = 0;
+        for (String id : slots.keySet()) {
+            boolean[] removed = new boolean[1];
+            slots.computeIfPresent(id, (key, slot) -> {
+                if (slot.expiresAt > nowMillis) {
+                    return slot;
+                }
+                reservedBytes.addAndGet(-slot.buffer.capacity());
+                removed[0] = true;
+                return null;
+            });
+            if (removed[0]) {
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    @Override
+    public long countActive(long nowMillis) {
+        return slots.values().stream().filter(slot -> slot.expiresAt > nowMillis).count();
+    }
+
+    public long getReservedBytes() {
+        return reservedBytes.get();
+    }
+
+    private static final class Slot {
+        private final ByteBuffer buffer;
+        private int length;
+        private long expiresAt;
+
+        private Slot(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
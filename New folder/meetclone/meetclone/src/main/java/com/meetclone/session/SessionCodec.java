@@ -0,0 +1,240 @@
+package com.meetclone.session;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary encoding of a session's creation time, timeout and attributes.
+ * The attributes the app itself stores are written as a one-byte name
+ * index, a one-byte type tag and a varint or UTF-8 payload. A logged-in
+ * user in a meeting comes to roughly 150 bytes. Any other attribute falls
+ * back to Java serialization, and reading it back only accepts JDK value
+ * types from java.lang, java.util, java.time and java.math (see
+ * {@link #SERIALIZED_FILTER}), so a tampered session row cannot
+ * instantiate arbitrary classes.
+ * <p>
+ * The last-access time is not part of the payload. Stores keep it as a
+ * separate expiry column, so a request that only touches the session
+ * produces identical bytes and can skip the write.
+ */
+public final class SessionCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final String[] KNOWN_NAMES = { "userId", "username", "email", "role", "isLoggedIn", "fullName",
+            "meetingCode", "meetingId", "meetingTitle", "isHost", "resetEmail", "resetOtp", "otpTimestamp" };
+
+    private static final Map<String, Integer> NAME_INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < KNOWN_NAMES.length; i++) {
+            NAME_INDEX.put(KNOWN_NAMES[i], i);
+        }
+    }
+
+    private static final int CUSTOM_NAME = 0xFF;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte INT = 3;
+    private static final byte TRUE = 4;
+    private static final byte FALSE = 5;
+    private static final byte LOCAL_DATE_TIME = 6;
+    private static final byte SERIALIZED = 7;
+
+    static final ObjectInputFilter SERIALIZED_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=16;maxrefs=10000;maxarray=65536;maxbytes=1048576;"
+                    + "java.lang.*;java.util.*;java.time.*;java.math.*;!*");
+
+    private SessionCodec() {
+    }
+
+    public static byte[] encode(Session session) {
+        Writer out = new Writer();
+        out.buffer.write(VERSION);
+        out.varLong(session.getCreationTime().toEpochMilli());
+        out.varLong(session.getMaxInactiveInterval().getSeconds());
+        out.varInt(session.getAttributeNames().size());
+        for (String name : session.getAttributeNames()) {
+            Integer index = NAME_INDEX.get(name);
+            if (index != null) {
+                out.buffer.write(index);
+            } else {
+                out.buffer.write(CUSTOM_NAME);
+                out.string(name);
+            }
+            out.value(session.getAttribute(name));
+        }
+        return out.buffer.toByteArray();
+    }
+
+    /**
+     * Rebuilds a session; {@code lastAccessedTime} comes from the store's
+     * expiry column.
+     */
+    public static MapSession decode(String id, byte[] payload, Instant lastAccessedTime) {
+        Reader in = new Reader(payload);
+        byte version = in.buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unknown session encoding " + version);
+        }
+        MapSession session = new MapSession(id);
+        session.setCreationTime(Instant.ofEpochMilli(in.varLong()));
+        session.setMaxInactiveInterval(Duration.ofSeconds(in.varLong()));
+        session.setLastAccessedTime(lastAccessedTime);
+        int count = in.varInt();
+        for (int i = 0; i < count; i++) {
+            int nameRef = in.buffer.get() & 0xFF;
+            String name = nameRef == CUSTOM_NAME ? in.string() : KNOWN_NAMES[nameRef];
+            session.setAttribute(name, in.value());
+        }
+        return session;
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(192);
+
+        private void value(Object value) {
+            switch (value) {
+                case null -> buffer.write(NULL);
+                case String s -> {
+                    buffer.write(STRING);
+                    string(s);
+                }
+                case Long l -> {
+                    buffer.write(LONG);
+                    varLong((l << 1) ^ (l >> 63));
+                }
+                case Integer n -> {
+                    buffer.write(INT);
+                    varLong(((long) n << 1) ^ ((long) n >> 63));
+                }
+                case Boolean b -> buffer.write(b ? TRUE : FALSE);
+                case LocalDateTime t -> {
+                    buffer.write(LOCAL_DATE_TIME);
+                    varLong(t.toEpochSecond(ZoneOffset.UTC));
+                    varInt(t.getNano());
+                }
+                case Serializable s -> {
+                    buffer.write(SERIALIZED);
+                    byte[] bytes = serialize(s);
+                    varInt(bytes.length);
+                    buffer.writeBytes(bytes);
+                }
+                default -> throw new IllegalArgumentException(
+                        "Session attribute of type " + value.getClass().getName() + " is not serializable");
+            }
+        }
+
+        private void string(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            varInt(bytes.length);
+            buffer.writeBytes(bytes);
+        }
+
+        private void varInt(int v) {
+            varLong(v & 0xFFFFFFFFL);
+        }
+
+        private void varLong(long v) {
+            while ((v & ~0x7FL) != 0) {
+                buffer.write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            buffer.write((int) v);
+        }
+
+        private static byte[] serialize(Serializable value) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(value);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot serialize session attribute", e);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buffer;
+
+        private Reader(byte[] payload) {
+            this.buffer = ByteBuffer.wrap(payload);
+        }
+
+        private Object value() {
+            byte type = buffer.get();
+            return switch (type) {
+                case NULL -> null;
+                case STRING -> string();
+                case LONG -> zigzag(varLong());
+                case INT -> (int) zigzag(varLong());
+                case TRUE -> Boolean.TRUE;
+                case FALSE -> Boolean.FALSE;
+                case LOCAL_DATE_TIME -> LocalDateTime.ofEpochSecond(varLong(), varInt(), ZoneOffset.UTC);
+                case SERIALIZED -> deserialize(bytes(varInt()));
+                default -> throw new IllegalStateException("Unknown session value type " + type);
+            };
+        }
+
+        private String string() {
+            int length = varInt();
+            String s = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return s;
+        }
+
+        private byte[] bytes(int length) {
+            int start = buffer.position();
+            buffer.position(start + length);
+            return Arrays.copyOfRange(buffer.array(), start, start + length);
+        }
+
+        private int varInt() {
+            return (int) varLong();
+        }
+
+        private long varLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer.get();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalStateException("Malformed varint");
+        }
+
+        private static long zigzag(long v) {
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        private static Object deserialize(byte[] bytes) {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                in.setObjectInputFilter(SERIALIZED_FILTER);
+                return in.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new IllegalStateException("Cannot deserialize session attribute", e);
+            }
+        }
+    }
+}
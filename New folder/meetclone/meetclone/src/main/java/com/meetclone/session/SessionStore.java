@@ -0,0 +1,25 @@
+package com.meetclone.session;
+
+/**
+ * Backend for {@link CompactSessionRepository}. Payloads are opaque
+ * {@link SessionCodec} bytes; expiry is kept beside them so that extending
+ * a session does not rewrite its payload.
+ */
+public interface SessionStore {
+
+    StoredSession load(String id);
+
+    void save(String id, byte[] payload, long expiresAtMillis);
+
+    void touch(String id, long expiresAtMillis);
+
+    void delete(String id);
+
+    int purgeExpired(long nowMillis);
+
+    /** Sessions that have not expired by nowMillis, for the sessions gauge. */
+    long countActive(long nowMillis);
+
+    record StoredSession(byte[] payload, long expiresAtMillis) {
+    }
+}
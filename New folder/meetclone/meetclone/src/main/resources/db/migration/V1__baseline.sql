@@ -0,0 +1,34 @@
+-- Schema as first deployed, when Hibernate still created it at startup.
+-- Databases created that way are baselined at this version and skip it.
+
+create table users (
+    is_active bit,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    last_login datetime(6),
+    email varchar(255) not null,
+    full_name varchar(255),
+    password varchar(255) not null,
+    profile_image_url varchar(255),
+    role varchar(255) not null,
+    username varchar(255) not null,
+    primary key (id)
+);
+
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+create table meetings (
+    is_active bit not null,
+    participant_count integer,
+    created_at datetime(6) not null,
+    ended_at datetime(6),
+    host_user_id bigint not null,
+    id bigint not null auto_increment,
+    started_at datetime(6),
+    meeting_code varchar(255) not null,
+    title varchar(255) not null,
+    primary key (id)
+);
+
+alter table meetings add constraint UKnl5c7x2gh8plk6q708l3senbt unique (meeting_code);
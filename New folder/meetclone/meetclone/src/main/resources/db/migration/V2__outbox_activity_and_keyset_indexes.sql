@@ -0,0 +1,32 @@
+-- Outbound mail queue drained by NotificationDispatcher.
+create table notification_outbox (
+    attempts integer not null,
+    claimed_until datetime(6),
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    next_attempt_at datetime(6) not null,
+    sent_at datetime(6),
+    type varchar(32) not null,
+    claim_token varchar(36),
+    last_error varchar(512),
+    body TEXT not null,
+    recipient varchar(255) not null,
+    secret varchar(255),
+    subject varchar(255) not null,
+    status enum ('FAILED','IN_FLIGHT','PENDING','SENT') not null,
+    primary key (id)
+);
+
+create index idx_outbox_status_next_attempt on notification_outbox (status, next_attempt_at);
+create index idx_outbox_claim_token on notification_outbox (claim_token);
+
+-- Liveness for MeetingReaper. Existing rows stay null and are judged by started_at.
+alter table meetings add column last_activity_at datetime(6);
+
+-- Keyset pagination for the admin listings, and the reaper's walk over active meetings.
+create index idx_meetings_created on meetings (created_at, id);
+create index idx_meetings_active_created on meetings (is_active, created_at, id);
+create index idx_meetings_active_started on meetings (is_active, started_at, id);
+create index idx_users_created on users (created_at, id);
+create index idx_users_active_created on users (is_active, created_at, id);
+create index idx_users_role_active_created on users (role, is_active, created_at, id);
@@ -0,0 +1,10 @@
+-- Shared session table for meetclone.session.store=jdbc (JdbcSessionStore).
+-- "if not exists" because nodes that ran the jdbc store before this
+-- migration created the table, with the same index, at startup.
+create table if not exists http_sessions (
+    id varchar(64) not null,
+    expires_at bigint not null,
+    payload varbinary(16384) not null,
+    primary key (id),
+    index idx_http_sessions_expires (expires_at)
+);
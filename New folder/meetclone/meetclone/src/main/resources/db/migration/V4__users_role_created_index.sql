@@ -0,0 +1,4 @@
+-- Keyset pages of the admin user listing filtered by role alone: without
+-- is_active bound, (role, is_active, created_at, id) cannot return rows in
+-- created_at order, so this index serves that filter.
+create index idx_users_role_created on users (role, created_at, id);
@@ -4,11 +4,37 @@ let isCameraOff = false;
 let isScreenSharing = false;
 let isHandRaised = false;
 let chatMessages = [];
+let lastChatSeq = 0;
+let historyLoading = false;
+let pendingChat = [];
+let meetingSocket = null;
+let reconnectAttempts = 0;
+
+// WebRTC mesh: one RTCPeerConnection per remote peer, signaled over meetingSocket.
+const rtcConfig = { iceServers: [{ urls: 'stun:stun.l.google.com:19302' }] };
+let localStream = null;
+let screenTrack = null;
+let mediaReady = Promise.resolve(null);
+let selfPeerId = null;
+const peers = new Map();
+const peerNames = new Map();
+const earlyCandidates = new Map();
+
+// Everyone's mic/camera/screen/hand state, kept in step with the server by version.
+const STATE_MIC_MUTED = 1;
+const STATE_CAMERA_OFF = 2;
+const STATE_SCREEN_SHARING = 4;
+const STATE_HAND_RAISED = 8;
+const participantStates = new Map();
+const peerUsers = new Map();
+let stateVersion = -1;
+let stateSyncPending = false;
 
 document.addEventListener('DOMContentLoaded', function() {
     initMeeting();
     setupEventListeners();
-    loadChatHistory();
+    startLocalMedia();
+    connectMeetingSocket();
 });
 
 
@@ -63,6 +89,8 @@ function initializeControls() {
 function toggleMic() {
     const micBtn = document.getElementById('micBtn');
     isMicMuted = !isMicMuted;
+    applyTrackState();
+    sendLocalState();
     
     if (isMicMuted) {
         micBtn.classList.add('muted');
@@ -82,6 +110,8 @@ function toggleMic() {
 function toggleCamera() {
     const cameraBtn = document.getElementById('cameraBtn');
     isCameraOff = !isCameraOff;
+    applyTrackState();
+    sendLocalState();
     
     if (isCameraOff) {
         cameraBtn.classList.add('muted');
@@ -100,8 +130,39 @@ function toggleCamera() {
 
 
 function shareScreen() {
+    if (isScreenSharing) {
+        stopScreenShare();
+        return;
+    }
+    if (!navigator.mediaDevices || !navigator.mediaDevices.getDisplayMedia) {
+        showNotification('Screen sharing is not supported in this browser', 'error');
+        return;
+    }
+    navigator.mediaDevices.getDisplayMedia({ video: true }).then(stream => {
+        screenTrack = stream.getVideoTracks()[0];
+        screenTrack.addEventListener('ended', stopScreenShare);
+        replaceOutgoingVideo(screenTrack);
+        showLocalVideo(stream);
+        setScreenSharing(true);
+    }).catch(() => showNotification('Screen sharing was cancelled', 'warning'));
+}
+
+
+function stopScreenShare() {
+    if (!screenTrack) return;
+    screenTrack.stop();
+    screenTrack = null;
+    const cameraTrack = localStream ? localStream.getVideoTracks()[0] || null : null;
+    replaceOutgoingVideo(cameraTrack);
+    if (localStream) showLocalVideo(localStream);
+    setScreenSharing(false);
+}
+
+
+function setScreenSharing(active) {
     const shareBtn = document.getElementById('shareBtn');
-    isScreenSharing = !isScreenSharing;
+    isScreenSharing = active;
+    sendLocalState();
     
     if (isScreenSharing) {
         shareBtn.style.backgroundColor = '#4285f4';
@@ -118,6 +179,7 @@ function shareScreen() {
 function raiseHand() {
     const handBtn = document.getElementById('handBtn');
     isHandRaised = !isHandRaised;
+    sendLocalState();
     
     if (isHandRaised) {
         handBtn.style.backgroundColor = '#fbbc04';
@@ -219,25 +281,370 @@ function sendMessage() {
     const text = messageInput.value.trim();
     if (!text) return;
     
+    if (!meetingSocket || meetingSocket.readyState !== WebSocket.OPEN) {
+        showNotification('Chat is reconnecting. Please try again.', 'error');
+        return;
+    }
+    
+    meetingSocket.send(JSON.stringify({ type: 'chat', text: text }));
+    
+    messageInput.value = '';
+    
+    announceToScreenReader(`You sent: ${text}`);
+}
+
+
+function connectMeetingSocket() {
+    const protocol = window.location.protocol === 'https:' ? 'wss' : 'ws';
+    meetingSocket = new WebSocket(`${protocol}://${window.location.host}/ws/meeting`);
+    
+    meetingSocket.addEventListener('open', function() {
+        reconnectAttempts = 0;
+        loadChatHistory();
+        sendLocalState();
+    });
+    
+    meetingSocket.addEventListener('message', function(event) {
+        handleSocketMessage(JSON.parse(event.data));
+    });
+    
+    meetingSocket.addEventListener('close', function(event) {
+        if (event.code === 1008) {
+            showNotification('You are no longer in this meeting.', 'error');
+            return;
+        }
+        const delay = Math.min(30000, 1000 * Math.pow(2, reconnectAttempts++));
+        setTimeout(connectMeetingSocket, delay);
+    });
+}
+
+
+function handleSocketMessage(data) {
+    switch (data.type) {
+        case 'chat':
+            if (historyLoading) {
+                pendingChat.push(data);
+            } else {
+                receiveChatMessage(data, true);
+            }
+            break;
+        case 'peers':
+            closeAllPeers();
+            selfPeerId = data.self;
+            data.peers.forEach(peer => {
+                peerNames.set(peer.id, peer.username);
+                peerUsers.set(peer.id, peer.userId);
+                callPeer(peer.id);
+            });
+            break;
+        case 'peer-joined':
+            peerNames.set(data.id, data.username);
+            peerUsers.set(data.id, data.userId);
+            break;
+        case 'offer':
+            answerPeer(data.from, data.sdp);
+            break;
+        case 'answer':
+            acceptAnswer(data.from, data.sdp);
+            break;
+        case 'ice':
+            addRemoteCandidates(data.from, data.candidates);
+            break;
+        case 'peer-left':
+            closePeer(data.id);
+            break;
+        case 'state-snapshot':
+            applyStateSnapshot(data);
+            break;
+        case 'state-delta':
+            applyStateDelta(data);
+            break;
+    }
+}
+
+
+function sendLocalState() {
+    if (!meetingSocket || meetingSocket.readyState !== WebSocket.OPEN) return;
+    meetingSocket.send(JSON.stringify({
+        type: 'state',
+        micMuted: isMicMuted,
+        cameraOff: isCameraOff,
+        screenSharing: isScreenSharing,
+        handRaised: isHandRaised
+    }));
+}
+
+
+function applyStateSnapshot(data) {
+    participantStates.clear();
+    data.participants.forEach(p => participantStates.set(p.userId, { username: p.username, state: p.state }));
+    stateVersion = data.version;
+    stateSyncPending = false;
+    document.querySelectorAll('.remote-tile').forEach(renderTileState);
+}
+
+
+function applyStateDelta(data) {
+    if (stateSyncPending) return;
+    if (data.from !== stateVersion) {
+        // Missed a delta: ask for a snapshot rather than guess.
+        stateSyncPending = true;
+        meetingSocket.send(JSON.stringify({ type: 'state-sync' }));
+        return;
+    }
+    const touched = [];
+    (data.joined || []).forEach(p => {
+        participantStates.set(p.userId, { username: p.username, state: p.state });
+        touched.push(p.userId);
+    });
+    (data.changed || []).forEach(([userId, state]) => {
+        const entry = participantStates.get(userId);
+        if (entry) entry.state = state;
+        touched.push(userId);
+    });
+    (data.left || []).forEach(userId => {
+        participantStates.delete(userId);
+        touched.push(userId);
+    });
+    stateVersion = data.version;
+    touched.forEach(userId => {
+        document.querySelectorAll(`.remote-tile[data-user-id="${userId}"]`).forEach(renderTileState);
+    });
+}
+
+
+function renderTileState(tile) {
+    const status = tile.querySelector('.remote-status');
+    if (!status) return;
+    const entry = participantStates.get(Number(tile.dataset.userId));
+    const state = entry ? entry.state : 0;
+    const icons = [];
+    if (state & STATE_HAND_RAISED) icons.push('bi-hand-index-thumb-fill');
+    if (state & STATE_SCREEN_SHARING) icons.push('bi-display');
+    if (state & STATE_CAMERA_OFF) icons.push('bi-camera-video-off');
+    if (state & STATE_MIC_MUTED) icons.push('bi-mic-mute');
+    status.innerHTML = icons.map(icon => `<i class="bi ${icon}"></i>`).join(' ');
+    tile.classList.toggle('hand-raised', (state & STATE_HAND_RAISED) !== 0);
+}
+
+
+function startLocalMedia() {
+    if (!navigator.mediaDevices || !navigator.mediaDevices.getUserMedia) {
+        return;
+    }
+    mediaReady = navigator.mediaDevices.getUserMedia({ audio: true, video: true }).then(stream => {
+        localStream = stream;
+        applyTrackState();
+        showLocalVideo(stream);
+        return stream;
+    }).catch(err => {
+        console.warn('Camera/microphone unavailable:', err);
+        showNotification('Camera or microphone unavailable. Joining without media.', 'warning');
+        return null;
+    });
+}
+
+
+function applyTrackState() {
+    if (!localStream) return;
+    localStream.getAudioTracks().forEach(track => track.enabled = !isMicMuted);
+    localStream.getVideoTracks().forEach(track => track.enabled = !isCameraOff);
+}
+
+
+function showLocalVideo(stream) {
+    const video = document.getElementById('localVideo');
+    if (!video) return;
+    video.srcObject = stream;
+    video.classList.remove('d-none');
+    const placeholder = document.querySelector('.main-video .video-placeholder');
+    if (placeholder) placeholder.classList.add('d-none');
+}
+
+
+function sendSignal(message) {
+    if (meetingSocket && meetingSocket.readyState === WebSocket.OPEN) {
+        meetingSocket.send(JSON.stringify(message));
+    }
+}
+
+
+function createPeer(id) {
+    const pc = new RTCPeerConnection(rtcConfig);
+    const peer = { pc: pc, pendingCandidates: earlyCandidates.get(id) || [] };
+    earlyCandidates.delete(id);
+    peers.set(id, peer);
+
+    if (localStream) {
+        localStream.getTracks().forEach(track => {
+            const sender = pc.addTrack(track, localStream);
+            if (screenTrack && track.kind === 'video') sender.replaceTrack(screenTrack);
+        });
+    } else {
+        pc.addTransceiver('audio', { direction: 'recvonly' });
+        pc.addTransceiver('video', { direction: 'recvonly' });
+    }
+
+    pc.addEventListener('icecandidate', event => {
+        if (event.candidate) {
+            sendSignal({ type: 'ice', to: id, candidate: event.candidate.toJSON() });
+        }
+    });
+    pc.addEventListener('track', event => showRemoteVideo(id, event.streams[0]));
+    pc.addEventListener('connectionstatechange', () => {
+        if (pc.connectionState === 'failed') closePeer(id);
+    });
+    return peer;
+}
+
+
+// The newcomer offers to everyone already in the room, so two peers never offer to each other.
+async function callPeer(id) {
+    await mediaReady;
+    const peer = createPeer(id);
+    try {
+        const offer = await peer.pc.createOffer();
+        await peer.pc.setLocalDescription(offer);
+        sendSignal({ type: 'offer', to: id, sdp: offer.sdp });
+    } catch (err) {
+        console.warn('Offer to', id, 'failed:', err);
+        closePeer(id);
+    }
+}
+
+
+async function answerPeer(id, sdp) {
+    await mediaReady;
+    const peer = peers.get(id) || createPeer(id);
+    try {
+        await peer.pc.setRemoteDescription({ type: 'offer', sdp: sdp });
+        await applyPendingCandidates(peer);
+        const answer = await peer.pc.createAnswer();
+        await peer.pc.setLocalDescription(answer);
+        sendSignal({ type: 'answer', to: id, sdp: answer.sdp });
+    } catch (err) {
+        console.warn('Answer to', id, 'failed:', err);
+        closePeer(id);
+    }
+}
+
+
+async function acceptAnswer(id, sdp) {
+    const peer = peers.get(id);
+    if (!peer) return;
+    try {
+        await peer.pc.setRemoteDescription({ type: 'answer', sdp: sdp });
+        await applyPendingCandidates(peer);
+    } catch (err) {
+        console.warn('Answer from', id, 'rejected:', err);
+        closePeer(id);
+    }
+}
+
+
+// Candidates can arrive before the description they belong to has been applied.
+function addRemoteCandidates(id, candidates) {
+    const peer = peers.get(id);
+    if (!peer) {
+        earlyCandidates.set(id, (earlyCandidates.get(id) || []).concat(candidates));
+        return;
+    }
+    if (!peer.pc.remoteDescription) {
+        peer.pendingCandidates.push(...candidates);
+        return;
+    }
+    candidates.forEach(candidate => peer.pc.addIceCandidate(candidate).catch(err => console.warn(err)));
+}
+
+
+async function applyPendingCandidates(peer) {
+    const pending = peer.pendingCandidates;
+    peer.pendingCandidates = [];
+    for (const candidate of pending) {
+        await peer.pc.addIceCandidate(candidate).catch(err => console.warn(err));
+    }
+}
+
+
+function replaceOutgoingVideo(track) {
+    peers.forEach(peer => {
+        peer.pc.getSenders()
+            .filter(sender => sender.track ? sender.track.kind === 'video' : false)
+            .forEach(sender => sender.replaceTrack(track));
+    });
+}
+
+
+function showRemoteVideo(id, stream) {
+    const container = document.getElementById('remoteVideos');
+    if (!container) return;
+    let tile = document.getElementById(`peer-${id}`);
+    if (!tile) {
+        tile = document.createElement('div');
+        tile.id = `peer-${id}`;
+        tile.className = 'remote-tile rounded-3';
+        if (peerUsers.has(id)) tile.dataset.userId = peerUsers.get(id);
+        const video = document.createElement('video');
+        video.autoplay = true;
+        video.playsInline = true;
+        const label = document.createElement('span');
+        label.className = 'remote-name badge bg-dark';
+        label.textContent = peerNames.get(id) || 'Participant';
+        const status = document.createElement('span');
+        status.className = 'remote-status badge bg-dark';
+        tile.appendChild(video);
+        tile.appendChild(label);
+        tile.appendChild(status);
+        container.appendChild(tile);
+        renderTileState(tile);
+    }
+    tile.querySelector('video').srcObject = stream;
+}
+
+
+function closePeer(id) {
+    const peer = peers.get(id);
+    if (peer) {
+        peer.pc.close();
+        peers.delete(id);
+    }
+    earlyCandidates.delete(id);
+    const tile = document.getElementById(`peer-${id}`);
+    if (tile) tile.remove();
+}
+
+
+function closeAllPeers() {
+    Array.from(peers.keys()).forEach(closePeer);
+}
+
+
+function receiveChatMessage(data, live) {
+    if (data.seq > 0 && data.seq <= lastChatSeq) return;
+    if (data.seq > 0) lastChatSeq = data.seq;
+    
+    const messagesContainer = document.getElementById('messagesContainer');
+    const isOwn = String(data.userId) === getUserIdFromPage();
+    
     const message = {
-        id: Date.now(),
-        text: text,
-        sender: 'You',
-        timestamp: new Date().toISOString(),
-        type: 'sent'
+        id: data.seq,
+        text: data.text,
+        sender: isOwn ? 'You' : data.sender,
+        timestamp: new Date(data.timestamp).toISOString(),
+        type: isOwn ? 'sent' : 'received'
     };
     
     chatMessages.push(message);
     
-    saveChatHistory();
-    
     displayMessage(message);
     
-    messageInput.value = '';
-    
-    messagesContainer.scrollTop = messagesContainer.scrollHeight;
+    if (messagesContainer) {
+        messagesContainer.scrollTop = messagesContainer.scrollHeight;
+    }
     
-    announceToScreenReader(`You sent: ${text}`);
+    if (live && !isOwn) {
+        announceToScreenReader(`${data.sender} says: ${data.text}`);
+    }
 }
 
 
@@ -273,24 +680,27 @@ function loadChatHistory() {
     const messagesContainer = document.getElementById('messagesContainer');
     if (!messagesContainer) return;
     
-    const meetingCode = getMeetingCodeFromPage();
-    const storageKey = `chat_${meetingCode}`;
-    const storedMessages = JSON.parse(localStorage.getItem(storageKey) || '[]');
-    
-    chatMessages = storedMessages;
+    if (lastChatSeq === 0) {
+        messagesContainer.innerHTML = '';
+    }
     
-    messagesContainer.innerHTML = '';
-    chatMessages.forEach(message => displayMessage(message));
+    historyLoading = true;
     
-    messagesContainer.scrollTop = messagesContainer.scrollHeight;
-}
-
-
-
-function saveChatHistory() {
-    const meetingCode = getMeetingCodeFromPage();
-    const storageKey = `chat_${meetingCode}`;
-    localStorage.setItem(storageKey, JSON.stringify(chatMessages));
+    fetch(`/chat/history?fromSeq=${lastChatSeq + 1}`, { credentials: 'same-origin' })
+        .then(response => response.ok ? response.text() : '')
+        .then(body => {
+            body.split('\n')
+                .filter(line => line.trim())
+                .forEach(line => receiveChatMessage(JSON.parse(line), false));
+        })
+        .catch(() => showNotification('Could not load chat history', 'error'))
+        .finally(() => {
+            historyLoading = false;
+            const buffered = pendingChat;
+            pendingChat = [];
+            buffered.forEach(data => receiveChatMessage(data, true));
+            messagesContainer.scrollTop = messagesContainer.scrollHeight;
+        });
 }
 
 
@@ -302,10 +712,6 @@ function clearChat() {
             messagesContainer.innerHTML = '';
         }
         
-        const meetingCode = getMeetingCodeFromPage();
-        const storageKey = `chat_${meetingCode}`;
-        localStorage.removeItem(storageKey);
-        
         showNotification('Chat cleared', 'info');
     }
 }
@@ -330,14 +736,10 @@ function switchMainVideo(element) {
 
 function endMeeting() {
     if (confirm('Are you sure you want to end the meeting?')) {
-        const meetingCode = getMeetingCodeFromPage();
-        const storageKey = `chat_${meetingCode}`;
-        localStorage.removeItem(storageKey);
-        
         showNotification('Meeting ended. Redirecting...', 'info');
         
         setTimeout(() => {
-            window.location.href = '/index';
+            window.location.href = '/leaveMeeting';
         }, 1500);
     }
 }
@@ -395,6 +797,11 @@ function getUserNameFromPage() {
 }
 
 
+function getUserIdFromPage() {
+    return document.body.dataset.userId || '';
+}
+
+
 function updateMeetingInfo(meetingCode, userName) {
     const codeElement = document.querySelector('.meeting-code');
     if (codeElement && meetingCode !== 'unknown') {
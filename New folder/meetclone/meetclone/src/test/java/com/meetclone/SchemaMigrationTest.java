@@ -0,0 +1,48 @@
+package com.meetclone;
+
+import com.meetclone.session.JdbcSessionStore;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Applies db/migration to an empty database and has Hibernate validate the
+ * entities against the result, as the prod profile does.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("embedded")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrationsProduceTheSchemaTheEntitiesExpect() {
+        assertEquals("4", flyway.info().current().getVersion().getVersion());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.indexes"
+                + " WHERE index_name = 'idx_users_role_created'", Integer.class));
+    }
+
+    @Test
+    void sessionTableComesFromTheMigrations() {
+        JdbcSessionStore store = new JdbcSessionStore(jdbcTemplate);
+        store.save("s1", new byte[] { 1, 2, 3 }, 2_000L);
+        assertArrayEquals(new byte[] { 1, 2, 3 }, store.load("s1").payload());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.indexes"
+                + " WHERE index_name = 'idx_http_sessions_expires'", Integer.class));
+        assertEquals(1, store.purgeExpired(2_000L));
+    }
+}
@@ -0,0 +1,75 @@
+package com.meetclone.config;
+
+import com.meetclone.repository.MeetingRepository;
+import com.meetclone.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class MetricsConfigTest {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Test
+    void serviceTimersAreRegisteredUpFrontAndRecordCalls() {
+        Timer getUserById = registry.find("meetclone.service")
+                .tags("component", "UserService", "method", "getUserById").timer();
+        assertNotNull(getUserById);
+        long before = getUserById.count();
+
+        userService.getUserById(-1L);
+
+        assertEquals(before + 1, getUserById.count());
+    }
+
+    @Test
+    void inMemoryServiceMethodsAreNotTimed() {
+        assertTrue(userService.isValidEmail("jane@example.com"));
+
+        assertNull(registry.find("meetclone.service")
+                .tags("component", "UserService", "method", "isValidEmail").timer());
+    }
+
+    @Test
+    void repositoryCallsAreTimedIncludingInheritedMethods() {
+        assertFalse(registry.find("meetclone.repository").tag("component", "MeetingRepository").timers().isEmpty());
+
+        Timer before = registry.find("meetclone.repository")
+                .tags("component", "MeetingRepository", "method", "count").timer();
+        long calls = before == null ? 0 : before.count();
+
+        meetingRepository.count();
+
+        Timer count = registry.find("meetclone.repository")
+                .tags("component", "MeetingRepository", "method", "count").timer();
+        assertNotNull(count);
+        assertEquals(calls + 1, count.count());
+    }
+
+    @Test
+    void gaugesAreRegistered() {
+        assertNotNull(registry.find("meetclone.meetings.active").gauge());
+        assertNotNull(registry.find("meetclone.sessions.active").gauge());
+        assertEquals(0, registry.find("meetclone.outbox.depth").gauge().value());
+        assertNotNull(registry.find("meetclone.outbox.oldest_pending_age").timeGauge());
+        assertNotNull(registry.find("meetclone.outbox.sent").functionCounter());
+    }
+}
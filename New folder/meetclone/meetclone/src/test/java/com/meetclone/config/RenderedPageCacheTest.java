@@ -0,0 +1,68 @@
+package com.meetclone.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = "meetclone.page-cache.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class RenderedPageCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RenderedPageCache pageCache;
+
+    @Test
+    void repeatedGetIsServedFromMemoryWithConditionalGet() throws Exception {
+        MockHttpServletResponse first = mockMvc.perform(get("/signup")).andReturn().getResponse();
+        long hits = pageCache.getHits();
+        MockHttpServletResponse second = mockMvc.perform(get("/signup")).andReturn().getResponse();
+
+        assertEquals(200, second.getStatus());
+        assertEquals(hits + 1, pageCache.getHits());
+        assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+        assertEquals(second.getContentAsByteArray().length, second.getContentLength());
+        assertTrue(second.getContentType().startsWith("text/html"));
+        assertEquals("no-cache", second.getHeader("Cache-Control"));
+        String etag = second.getHeader("ETag");
+        assertNotNull(etag);
+        assertEquals(first.getHeader("ETag"), etag);
+
+        MockHttpServletResponse notModified = mockMvc.perform(get("/signup").header("If-None-Match", etag))
+                .andReturn().getResponse();
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+    }
+
+    @Test
+    void errorMessageIsCachedAsItsOwnVariant() throws Exception {
+        String plain = mockMvc.perform(get("/loginpage")).andReturn().getResponse().getContentAsString();
+        MockHttpServletResponse error = mockMvc.perform(post("/loginpage")
+                .param("email", "not-an-email").param("password", "x")).andReturn().getResponse();
+        long hits = pageCache.getHits();
+        MockHttpServletResponse again = mockMvc.perform(post("/loginpage")
+                .param("email", "still-not-an-email").param("password", "y")).andReturn().getResponse();
+
+        assertFalse(plain.contains("Invalid email format."));
+        assertTrue(error.getContentAsString().contains("Invalid email format."));
+        assertEquals(hits + 1, pageCache.getHits());
+        assertEquals(error.getContentAsString(), again.getContentAsString());
+        assertNotEquals(plain, error.getContentAsString());
+    }
+}
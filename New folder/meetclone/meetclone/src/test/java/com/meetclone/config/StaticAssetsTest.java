@@ -0,0 +1,73 @@
+package com.meetclone.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class StaticAssetsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ResourceUrlProvider resourceUrlProvider;
+
+    @Test
+    void assetUrlsCarryContentHash() {
+        String url = resourceUrlProvider.getForLookupPath("/css/meeting.css");
+
+        assertNotEquals("/css/meeting.css", url);
+        assertTrue(url.matches("/css/meeting-[0-9a-f]{32}\\.css"), url);
+    }
+
+    @Test
+    void servesPreCompressedVariantWithImmutableCaching() throws Exception {
+        String url = resourceUrlProvider.getForLookupPath("/js/meeting.js");
+
+        MockHttpServletResponse br = mockMvc.perform(get(url).header("Accept-Encoding", "gzip, deflate, br"))
+                .andReturn().getResponse();
+        assertEquals(200, br.getStatus());
+        assertEquals("br", br.getHeader("Content-Encoding"));
+        assertTrue(br.getHeader("Vary").contains("Accept-Encoding"));
+        assertTrue(br.getHeader("Cache-Control").contains("immutable"), br.getHeader("Cache-Control"));
+
+        MockHttpServletResponse gzip = mockMvc.perform(get(url).header("Accept-Encoding", "gzip"))
+                .andReturn().getResponse();
+        assertEquals("gzip", gzip.getHeader("Content-Encoding"));
+
+        MockHttpServletResponse identity = mockMvc.perform(get(url)).andReturn().getResponse();
+        assertEquals(null, identity.getHeader("Content-Encoding"));
+        assertTrue(identity.getContentLength() > br.getContentLength());
+    }
+
+    @Test
+    void fileBackedAssetIsHandedToSendfile() throws Exception {
+        String url = resourceUrlProvider.getForLookupPath("/css/style.css");
+
+        MvcResult result = mockMvc.perform(get(url).header("Accept-Encoding", "gzip")
+                .requestAttr(SendfileResourceHttpMessageConverter.SUPPORT_ATTR, Boolean.TRUE)).andReturn();
+
+        String filename = (String) result.getRequest().getAttribute(SendfileResourceHttpMessageConverter.FILENAME_ATTR);
+        assertTrue(filename.endsWith("style.css.gz"), filename);
+        long length = new File(filename).length();
+        assertEquals(length, result.getRequest().getAttribute(SendfileResourceHttpMessageConverter.END_ATTR));
+        assertEquals(length, result.getResponse().getContentLength());
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+    }
+}
@@ -0,0 +1,32 @@
+package com.meetclone.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.templateresolver.SpringResourceTemplateResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TemplateWarmerTest {
+
+    @Test
+    void parsesEveryTemplateIntoTheCache() {
+        SpringResourceTemplateResolver resolver = new SpringResourceTemplateResolver();
+        resolver.setApplicationContext(new GenericApplicationContext());
+        resolver.setPrefix("classpath:/templates/");
+        resolver.setSuffix(".html");
+        resolver.setCacheable(true);
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+
+        TemplateWarmer warmer = new TemplateWarmer();
+        ReflectionTestUtils.setField(warmer, "templateEngine", engine);
+        ReflectionTestUtils.setField(warmer, "prewarm", true);
+        ReflectionTestUtils.setField(warmer, "prefix", "classpath:/templates/");
+        ReflectionTestUtils.setField(warmer, "suffix", ".html");
+        warmer.afterSingletonsInstantiated();
+
+        assertEquals(8, engine.getCacheManager().getTemplateCache().keySet().size());
+    }
+}
@@ -0,0 +1,63 @@
+package com.meetclone.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects every request latency per endpoint and summarises them as
+ * throughput and exact percentiles.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        endpoints.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, ok);
+    }
+
+    Map<String, EndpointStats> summarise(long elapsedNanos) {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> stats.put(e.getKey(), e.getValue().summarise(elapsedNanos)));
+        return stats;
+    }
+
+    record EndpointStats(int requests, int errors, double throughputPerSecond, double p50Millis,
+            double p90Millis, double p99Millis, double maxMillis) {
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+
+        private synchronized void add(long value, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        private synchronized EndpointStats summarise(long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(size, errors, size / (elapsedNanos / 1e9), percentile(sorted, 0.50),
+                    percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.meetclone.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives simulated users through the browser flow against a running
+ * instance: signup, login, index, then startMeeting (hosts) or
+ * joinMeeting (guests), lobby and meeting.
+ * <p>
+ * Users are split into groups of groupSize. The first user in a group
+ * hosts a meeting and the rest join it with the code read from the lobby
+ * page. Each user runs on its own virtual thread and keeps its own cookies.
+ * At most concurrency users are in flight at once. User names depend only
+ * on the run tag and the user's index, so two runs with the same settings
+ * issue the same requests.
+ */
+final class LoadHarness {
+
+    private static final Pattern MEETING_CODE = Pattern.compile("<span>([0-9a-z]{3}-[0-9a-z]{4}-[0-9a-z]{3})</span>");
+    private static final String PASSWORD = "LoadTest1pass";
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final LatencyRecorder recorder;
+
+    LoadHarness(String baseUrl, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+        this.client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Runs users [from, from + count) and returns the wall-clock time.
+     */
+    long run(String runTag, int from, int count, int groupSize, int concurrency) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        Map<Integer, CompletableFuture<String>> codes = new LinkedHashMap<>();
+        for (int i = from; i < from + count; i += groupSize) {
+            codes.put(i, new CompletableFuture<>());
+        }
+        long start = System.nanoTime();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = from; i < from + count; i++) {
+                int user = i;
+                int host = from + ((i - from) / groupSize) * groupSize;
+                CompletableFuture<String> meeting = codes.get(host);
+                users.execute(() -> {
+                    // Guests wait for their host's meeting before taking a
+                    // slot, so waiting guests can never starve the hosts.
+                    String joinCode = null;
+                    if (user != host) {
+                        joinCode = meeting.join();
+                        if (joinCode == null) {
+                            return;
+                        }
+                    }
+                    try {
+                        inFlight.acquire();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    try {
+                        new SimulatedUser(runTag + user).run(joinCode, meeting);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private final class SimulatedUser {
+        private final String name;
+        private final Map<String, String> cookies = new LinkedHashMap<>();
+
+        private SimulatedUser(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @param joinCode the meeting to join, or null to host one
+         * @param hostCode completed by a host with its meeting code, or
+         *                 with null if it failed
+         */
+        private void run(String joinCode, CompletableFuture<String> hostCode) {
+            try {
+                HttpResponse<String> signup = post("POST /signup", "/signup", "username", name, "fullName",
+                        "Load " + name, "email", name + "@load.test", "password", PASSWORD, "terms", "on");
+                if (!signup.body().contains("Account created successfully")) {
+                    fail(joinCode, hostCode);
+                    return;
+                }
+                HttpResponse<String> login = post("POST /loginpage", "/loginpage", "email", name + "@load.test",
+                        "password", PASSWORD);
+                if (!redirectsTo(login, "/index")) {
+                    fail(joinCode, hostCode);
+                    return;
+                }
+                get("GET /index", "/index");
+
+                if (joinCode == null) {
+                    post("POST /startMeeting", "/startMeeting", "meetingName", "Standup " + name);
+                    HttpResponse<String> lobby = get("GET /lobby", "/lobby");
+                    Matcher code = MEETING_CODE.matcher(lobby.body());
+                    if (!code.find()) {
+                        hostCode.complete(null);
+                        return;
+                    }
+                    hostCode.complete(code.group(1));
+                } else {
+                    HttpResponse<String> join = post("POST /joinMeeting", "/joinMeeting", "yourName", name,
+                            "meetingCode", joinCode);
+                    if (!redirectsTo(join, "/lobby")) {
+                        return;
+                    }
+                    get("GET /lobby", "/lobby");
+                }
+                get("GET /meeting", "/meeting");
+            } catch (IOException | InterruptedException e) {
+                fail(joinCode, hostCode);
+            }
+        }
+
+        private void fail(String joinCode, CompletableFuture<String> hostCode) {
+            if (joinCode == null) {
+                hostCode.complete(null);
+            }
+        }
+
+        private HttpResponse<String> get(String endpoint, String path) throws IOException, InterruptedException {
+            return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+        }
+
+        private HttpResponse<String> post(String endpoint, String path, String... form)
+                throws IOException, InterruptedException {
+            List<String> pairs = new ArrayList<>();
+            for (int i = 0; i < form.length; i += 2) {
+                pairs.add(URLEncoder.encode(form[i], StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(form[i + 1], StandardCharsets.UTF_8));
+            }
+            return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.join("&", pairs))));
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder request)
+                throws IOException, InterruptedException {
+            if (!cookies.isEmpty()) {
+                List<String> pairs = new ArrayList<>();
+                cookies.forEach((k, v) -> pairs.add(k + "=" + v));
+                request.header("Cookie", String.join("; ", pairs));
+            }
+            long start = System.nanoTime();
+            HttpResponse<String> response;
+            try {
+                response = client.send(request.timeout(Duration.ofSeconds(60)).build(),
+                        HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                recorder.record(endpoint, System.nanoTime() - start, false);
+                throw e;
+            }
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+            for (String header : response.headers().allValues("Set-Cookie")) {
+                String pair = header.split(";", 2)[0];
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    cookies.put(pair.substring(0, eq).trim(), pair.substring(eq + 1).trim());
+                }
+            }
+            return response;
+        }
+
+        private boolean redirectsTo(HttpResponse<String> response, String path) {
+            return response.statusCode() == 302
+                    && response.headers().firstValue("Location").map(l -> l.endsWith(path)).orElse(false);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.meetclone.load;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * target/load-report.json, shared by the load tests. Each test merges its
+ * own top-level keys into the file, so one -Ploadtest run keeps every
+ * test's results.
+ */
+final class LoadReport {
+
+    private static final File FILE = new File("target/load-report.json");
+    private static final ObjectMapper MAPPER = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build();
+
+    private LoadReport() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static synchronized void merge(Map<String, Object> entries) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        if (FILE.isFile()) {
+            report.putAll(MAPPER.readValue(FILE, Map.class));
+        }
+        report.putAll(entries);
+        MAPPER.writeValue(FILE, report);
+    }
+}
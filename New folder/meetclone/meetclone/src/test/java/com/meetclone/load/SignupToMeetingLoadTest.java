@@ -0,0 +1,75 @@
+package com.meetclone.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Capacity run of the signup-to-meeting flow against the embedded profile.
+ * Excluded from the normal build; run with
+ * <pre>
+ * mvn -Ploadtest test -Dload.users=2000 -Dload.concurrency=64
+ * </pre>
+ * Settings (system properties): load.users, load.concurrency,
+ * load.group-size, load.warmup-users, load.password-cost. The summary is
+ * printed and written to target/load-report.json for comparing builds.
+ */
+@Tag("load")
+@ActiveProfiles("embedded")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "meetclone.rate-limit.enabled=false",
+        "meetclone.password.cost=${load.password-cost:10}",
+        "meetclone.password.queue-capacity=4096",
+        "meetclone.password.timeout=120s",
+        "logging.level.root=WARN"
+})
+class SignupToMeetingLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void signupLoginStartJoin() throws Exception {
+        int users = Integer.getInteger("load.users", 2000);
+        int concurrency = Integer.getInteger("load.concurrency", 64);
+        int groupSize = Integer.getInteger("load.group-size", 5);
+        int warmup = Integer.getInteger("load.warmup-users", Math.min(200, users / 10));
+        String baseUrl = "http://localhost:" + port;
+
+        new LoadHarness(baseUrl, new LatencyRecorder()).run("warm", 0, warmup, groupSize, concurrency);
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long elapsed = new LoadHarness(baseUrl, recorder).run("user", 0, users, groupSize, concurrency);
+        Map<String, LatencyRecorder.EndpointStats> stats = recorder.summarise(elapsed);
+
+        System.out.printf("%n%d users, concurrency %d, group size %d, %.1f s%n", users, concurrency, groupSize,
+                elapsed / 1e9);
+        System.out.printf("%-20s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "max ms");
+        int errors = 0;
+        for (Map.Entry<String, LatencyRecorder.EndpointStats> e : stats.entrySet()) {
+            LatencyRecorder.EndpointStats s = e.getValue();
+            errors += s.errors();
+            System.out.printf("%-20s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", e.getKey(), s.requests(), s.errors(),
+                    s.throughputPerSecond(), s.p50Millis(), s.p90Millis(), s.p99Millis(), s.maxMillis());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", users);
+        report.put("concurrency", concurrency);
+        report.put("groupSize", groupSize);
+        report.put("elapsedMillis", elapsed / 1_000_000);
+        report.put("endpoints", stats);
+        LoadReport.merge(report);
+
+        assertTrue(stats.containsKey("GET /meeting"), "no user reached the meeting page");
+        assertTrue(errors == 0, errors + " requests failed");
+    }
+}
@@ -0,0 +1,200 @@
+package com.meetclone.load;
+
+import com.meetclone.MeetcloneApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.Filter;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The signup-to-meeting flow run twice against the real MVC stack and
+ * Hikari pool, once on platform threads (embedded profile) and once with
+ * the vthreads profile added, with the same users, concurrency and pool
+ * size. Throughput, p50 and p99 per endpoint are printed side by side and
+ * merged into target/load-report.json under "threadModes". The virtual
+ * run also checks that every request ran on a virtual thread, and reports
+ * any carrier pinning JFR saw (jdk.VirtualThreadPinned, blocked 20 ms or
+ * more) by top application frame. Run with
+ * <pre>
+ * mvn -Ploadtest test -Dtest=VirtualThreadLoadTest -Dload.users=1000
+ * </pre>
+ * The platform run goes first in a colder JVM; raise load.warmup-users
+ * (default users / 10, at most 200) if the first endpoints look skewed.
+ * The embedded profile uses H2; point spring.datasource.* at MySQL to check
+ * the production driver for pinning.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        int users = Integer.getInteger("load.users", 1000);
+        int concurrency = Integer.getInteger("load.concurrency", 256);
+        int groupSize = Integer.getInteger("load.group-size", 5);
+        int warmup = Integer.getInteger("load.warmup-users", Math.min(200, users / 10));
+
+        ModeResult platform = run("platform", false, users, warmup, concurrency, groupSize);
+        ModeResult virtual = run("virtual", true, users, warmup, concurrency, groupSize);
+
+        System.out.printf("%n%d users, concurrency %d, pool size %d: platform %.1f s, virtual %.1f s%n", users,
+                concurrency, platform.poolSize(), platform.elapsedMillis() / 1e3, virtual.elapsedMillis() / 1e3);
+        System.out.printf("%-20s %11s %11s %11s %11s %11s %11s%n", "endpoint", "plat req/s", "virt req/s",
+                "plat p50", "virt p50", "plat p99", "virt p99");
+        for (Map.Entry<String, LatencyRecorder.EndpointStats> e : platform.endpoints().entrySet()) {
+            LatencyRecorder.EndpointStats p = e.getValue();
+            LatencyRecorder.EndpointStats v = virtual.endpoints().get(e.getKey());
+            if (v == null) {
+                continue;
+            }
+            System.out.printf("%-20s %11.1f %11.1f %11.2f %11.2f %11.2f %11.2f%n", e.getKey(),
+                    p.throughputPerSecond(), v.throughputPerSecond(), p.p50Millis(), v.p50Millis(),
+                    p.p99Millis(), v.p99Millis());
+        }
+        System.out.printf("peak waiting on pool: platform %d, virtual %d%n", platform.maxAwaiting(),
+                virtual.maxAwaiting());
+        System.out.printf("pinned >= 20 ms: %s%n", virtual.pinned().isEmpty() ? "none" : virtual.pinned());
+
+        Map<String, Object> modes = new LinkedHashMap<>();
+        modes.put("users", users);
+        modes.put("concurrency", concurrency);
+        modes.put("groupSize", groupSize);
+        modes.put("platform", platform);
+        modes.put("virtual", virtual);
+        LoadReport.merge(Map.of("threadModes", modes));
+
+        assertEquals(0, platform.errors(), "requests failed on platform threads");
+        assertEquals(0, virtual.errors(), "requests failed on virtual threads");
+        assertTrue(virtual.virtualRequests() > 0, "no requests were recorded");
+        assertEquals(0, virtual.platformRequests(), "requests ran on platform threads in vthreads mode");
+        assertEquals(0, platform.virtualRequests(), "requests ran on virtual threads in platform mode");
+    }
+
+    private ModeResult run(String mode, boolean virtualThreads, int users, int warmup, int concurrency,
+            int groupSize) throws Exception {
+        String[] profiles = virtualThreads ? new String[] { "embedded", "vthreads" } : new String[] { "embedded" };
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MeetcloneApplication.class,
+                RequestThreadsConfig.class)
+                .profiles(profiles)
+                .run(
+                        // As arguments, so they override application.properties.
+                        "--server.port=0",
+                        "--meetclone.rate-limit.enabled=false",
+                        "--meetclone.password.cost=" + System.getProperty("load.password-cost", "10"),
+                        "--meetclone.password.queue-capacity=4096",
+                        "--meetclone.password.timeout=120s",
+                        // The vthreads pool settings, applied to both modes so
+                        // only the threading model differs.
+                        "--spring.datasource.hikari.maximum-pool-size=30",
+                        "--spring.datasource.hikari.minimum-idle=30",
+                        "--spring.datasource.hikari.connection-timeout=3000",
+                        "--logging.level.root=WARN")) {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+            RequestThreads requestThreads = context.getBean(RequestThreads.class);
+            String tag = mode.substring(0, 1);
+
+            new LoadHarness(baseUrl, new LatencyRecorder()).run(tag + "warm", 0, warmup, groupSize, concurrency);
+            requestThreads.reset();
+
+            Map<String, LongAdder> pinned = new ConcurrentHashMap<>();
+            AtomicInteger maxAwaiting = new AtomicInteger();
+            LatencyRecorder recorder = new LatencyRecorder();
+            long elapsed;
+            try (RecordingStream jfr = new RecordingStream()) {
+                jfr.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20)).withStackTrace();
+                jfr.onEvent("jdk.VirtualThreadPinned", event -> pinned
+                        .computeIfAbsent(topApplicationFrame(event.getStackTrace() == null ? null
+                                : event.getStackTrace().getFrames()), k -> new LongAdder())
+                        .increment());
+                jfr.startAsync();
+
+                Thread sampler = Thread.ofVirtual().start(() -> {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        maxAwaiting.accumulateAndGet(
+                                dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection(), Math::max);
+                        try {
+                            Thread.sleep(10);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                });
+                try {
+                    elapsed = new LoadHarness(baseUrl, recorder).run(tag + "user", 0, users, groupSize,
+                            concurrency);
+                } finally {
+                    sampler.interrupt();
+                }
+            }
+
+            Map<String, LatencyRecorder.EndpointStats> endpoints = recorder.summarise(elapsed);
+            int errors = endpoints.values().stream().mapToInt(LatencyRecorder.EndpointStats::errors).sum();
+            Map<String, Long> pinnedCounts = new LinkedHashMap<>();
+            pinned.forEach((frame, count) -> pinnedCounts.put(frame, count.sum()));
+            return new ModeResult(elapsed / 1_000_000, dataSource.getMaximumPoolSize(), maxAwaiting.get(), errors,
+                    requestThreads.virtual.get(), requestThreads.platform.get(), pinnedCounts, endpoints);
+        }
+    }
+
+    private static String topApplicationFrame(List<RecordedFrame> frames) {
+        if (frames == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return frames.isEmpty() ? "unknown" : frames.get(0).getMethod().getType().getName();
+    }
+
+    record ModeResult(long elapsedMillis, int poolSize, int maxAwaiting, int errors, int virtualRequests,
+            int platformRequests, Map<String, Long> pinned, Map<String, LatencyRecorder.EndpointStats> endpoints) {
+    }
+
+    @Configuration
+    static class RequestThreadsConfig {
+
+        @Bean
+        RequestThreads requestThreads() {
+            return new RequestThreads();
+        }
+
+        @Bean
+        Filter requestThreadFilter(RequestThreads threads) {
+            return (request, response, chain) -> {
+                (Thread.currentThread().isVirtual() ? threads.virtual : threads.platform).incrementAndGet();
+                chain.doFilter(request, response);
+            };
+        }
+    }
+
+    static final class RequestThreads {
+        private final AtomicInteger virtual = new AtomicInteger();
+        private final AtomicInteger platform = new AtomicInteger();
+
+        void reset() {
+            virtual.set(0);
+            platform.set(0);
+        }
+    }
+}
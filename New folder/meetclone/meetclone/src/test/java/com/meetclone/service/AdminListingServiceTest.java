@@ -0,0 +1,92 @@
+package com.meetclone.service;
+
+import com.meetclone.dto.KeysetPage;
+import com.meetclone.dto.UserSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdminListingServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0, 0, 123_456_000);
+
+    private JdbcTemplate jdbcTemplate;
+    private AdminListingService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new AdminListingService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void firstPageReturnsCursorOfLastRow() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(users(3, 2, 1));
+
+        KeysetPage<UserSummary> page = service.listUsers("admin", true, null, 2);
+
+        assertEquals(2, page.items().size());
+        AdminListingService.Cursor next = AdminListingService.Cursor.decode(page.nextCursor());
+        assertEquals(new AdminListingService.Cursor(T0.minusSeconds(2), 2), next);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertEquals("SELECT id, email, username, full_name, role, is_active, created_at, last_login FROM users"
+                + " WHERE role = ? AND is_active = ? ORDER BY created_at DESC, id DESC LIMIT ?", sql.getValue());
+        assertArrayEquals(new Object[] { "ADMIN", true, 3 }, args.getValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void laterPagesSeekPastTheCursor() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(users(1));
+        String cursor = new AdminListingService.Cursor(T0, 42).encode();
+
+        KeysetPage<UserSummary> page = service.listUsers(null, null, cursor, 50);
+
+        assertNull(page.nextCursor());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertEquals("SELECT id, email, username, full_name, role, is_active, created_at, last_login FROM users"
+                + " WHERE (created_at < ? OR (created_at = ? AND id < ?)) ORDER BY created_at DESC, id DESC LIMIT ?",
+                sql.getValue());
+        assertArrayEquals(new Object[] { Timestamp.valueOf(T0), Timestamp.valueOf(T0), 42L, 51 }, args.getValue());
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> service.listMeetings(null, "not-a-cursor", 10));
+    }
+
+    private static List<UserSummary> users(long... ids) {
+        List<UserSummary> users = new ArrayList<>();
+        for (long id : ids) {
+            users.add(new UserSummary(id, "u" + id + "@example.com", "u" + id, null, "ADMIN", true,
+                    T0.minusSeconds(4 - id), null));
+        }
+        return users;
+    }
+}
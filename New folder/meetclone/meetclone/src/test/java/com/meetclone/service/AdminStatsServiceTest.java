@@ -0,0 +1,75 @@
+package com.meetclone.service;
+
+import com.meetclone.repository.MeetingRepository;
+import com.meetclone.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdminStatsServiceTest {
+
+    private UserRepository userRepo;
+    private MeetingRepository meetingRepo;
+    private AdminStatsService stats;
+
+    @BeforeEach
+    void setUp() {
+        userRepo = mock(UserRepository.class);
+        meetingRepo = mock(MeetingRepository.class);
+        when(userRepo.count()).thenReturn(100L);
+        when(userRepo.countByLastLoginGreaterThanEqual(any())).thenReturn(7L);
+        when(meetingRepo.count()).thenReturn(10L);
+        when(meetingRepo.countByIsActiveTrue()).thenReturn(3L);
+
+        stats = new AdminStatsService();
+        ReflectionTestUtils.setField(stats, "userRepo", userRepo);
+        ReflectionTestUtils.setField(stats, "meetingRepo", meetingRepo);
+        ReflectionTestUtils.setField(stats, "presenceRegistry", new PresenceRegistry());
+        stats.seed();
+    }
+
+    @Test
+    void seedsOnceThenTracksEvents() {
+        AdminStatsService.Snapshot seeded = stats.snapshot();
+        assertEquals(100, seeded.totalUsers());
+        assertEquals(3, seeded.activeMeetings());
+        assertEquals(7, seeded.loginsToday());
+        assertEquals(0, seeded.averageParticipants());
+
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+        stats.userRegistered();
+        stats.userLoggedIn(1L, yesterday);
+        stats.userLoggedIn(2L, null);
+        // Already counted: by the seed query, or by this process.
+        stats.userLoggedIn(3L, LocalDateTime.now());
+        stats.userLoggedIn(1L, yesterday);
+        stats.meetingStarted();
+        stats.participantJoined();
+        stats.participantJoined();
+        stats.participantJoined();
+        stats.meetingsEnded(2);
+        stats.meetingsEnded(5);
+
+        assertEquals(seeded, stats.snapshot());
+        stats.publish();
+
+        AdminStatsService.Snapshot current = stats.snapshot();
+        assertEquals(101, current.totalUsers());
+        assertEquals(9, current.loginsToday());
+        assertEquals(11, current.meetingsStarted());
+        assertEquals(0, current.activeMeetings());
+        assertEquals(3.0, current.averageParticipants());
+
+        verify(userRepo, times(1)).count();
+        verify(meetingRepo, times(1)).count();
+    }
+}
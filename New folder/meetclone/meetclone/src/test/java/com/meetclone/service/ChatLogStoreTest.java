@@ -0,0 +1,143 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatLogStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private ChatLogStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = newStore();
+    }
+
+    @Test
+    void appendsAcrossSegmentsAndReplaysFromAnySequence() throws IOException {
+        for (int i = 1; i <= 1000; i++) {
+            int n = i;
+            long seq = store.append("abc-defg-hij", s -> ("{\"seq\":" + s + ",\"n\":" + n + "}").getBytes(StandardCharsets.UTF_8));
+            assertEquals(i, seq);
+        }
+
+        try (Stream<Path> segments = Files.list(dir.resolve("abc-defg-hij"))) {
+            assertTrue(segments.count() > 1, "expected the log to roll over to several segments");
+        }
+
+        List<String> lines = replay("abc-defg-hij", 437, Long.MAX_VALUE);
+        assertEquals(564, lines.size());
+        assertEquals("{\"seq\":437,\"n\":437}", lines.get(0));
+        assertEquals("{\"seq\":1000,\"n\":1000}", lines.get(lines.size() - 1));
+
+        assertEquals(11, replay("abc-defg-hij", 990, 50).size());
+        assertEquals(3, replay("abc-defg-hij", 1, 3).size());
+        assertEquals(0, replay("abc-defg-hij", 1001, 10).size());
+    }
+
+    @Test
+    void recoversPositionAfterReopen() throws IOException {
+        for (int i = 0; i < 250; i++) {
+            store.append("room", s -> ("m" + s).getBytes(StandardCharsets.UTF_8));
+        }
+        store.closeAll();
+
+        ChatLogStore reopened = newStore();
+        assertEquals(250, reopened.getLastSeq("room"));
+        assertEquals(251, reopened.append("room", s -> ("m" + s).getBytes(StandardCharsets.UTF_8)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reopened.replay("room", 249, Long.MAX_VALUE, out);
+        assertEquals("m249\nm250\nm251\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readsClosedLogsWithoutReopeningThem() throws IOException {
+        for (int i = 0; i < 300; i++) {
+            store.append("ended", s -> ("m" + s).getBytes(StandardCharsets.UTF_8));
+        }
+        store.close("ended");
+
+        assertEquals(300, store.getLastSeq("ended"));
+        assertEquals(List.of("m299", "m300"), replay("ended", 299, Long.MAX_VALUE));
+        assertEquals(0, store.getLastSeq("never-started"));
+        assertEquals(List.of(), replay("never-started", 1, Long.MAX_VALUE));
+        assertEquals(0, store.getOpenLogCount());
+        assertFalse(Files.exists(dir.resolve("never-started")));
+    }
+
+    @Test
+    void keepsUnsafeMeetingCodesInsideTheLogDirectory() throws IOException {
+        store.append("../../etc", s -> "x".getBytes(StandardCharsets.UTF_8));
+        try (Stream<Path> children = Files.list(dir)) {
+            assertEquals(1, children.filter(p -> p.getFileName().toString().startsWith("+")).count());
+        }
+    }
+
+    @Test
+    void deletesLogsPastRetentionButNotOpenOnes() throws IOException {
+        for (String code : List.of("old-meet-ing", "new-meet-ing", "open-meet-ing", "../old")) {
+            store.append(code, s -> ("m" + s).getBytes(StandardCharsets.UTF_8));
+        }
+        store.close("old-meet-ing");
+        store.close("new-meet-ing");
+        store.close("../old");
+        Instant now = Instant.now();
+        backdate("old-meet-ing", now.minus(Duration.ofDays(40)));
+        backdate("open-meet-ing", now.minus(Duration.ofDays(40)));
+        try (Stream<Path> children = Files.list(dir)) {
+            backdate(children.filter(p -> p.getFileName().toString().startsWith("+")).findFirst().orElseThrow()
+                    .getFileName().toString(), now.minus(Duration.ofDays(40)));
+        }
+
+        assertEquals(2, store.deleteWrittenBefore(now.minus(Duration.ofDays(30))));
+
+        assertFalse(Files.exists(dir.resolve("old-meet-ing")));
+        assertEquals(0, store.getLastSeq("old-meet-ing"));
+        assertEquals(1, store.getLastSeq("new-meet-ing"));
+        assertEquals(1, store.getLastSeq("open-meet-ing"));
+        assertEquals(0, store.getLastSeq("../old"));
+    }
+
+    private void backdate(String dirName, Instant when) throws IOException {
+        try (Stream<Path> segments = Files.list(dir.resolve(dirName))) {
+            for (Path segment : segments.toList()) {
+                Files.setLastModifiedTime(segment, FileTime.from(when));
+            }
+        }
+    }
+
+    private List<String> replay(String code, long fromSeq, long limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.replay(code, fromSeq, limit, out);
+        String text = out.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+    }
+
+    private ChatLogStore newStore() {
+        ChatLogStore chatLogStore = new ChatLogStore();
+        ReflectionTestUtils.setField(chatLogStore, "baseDir", dir);
+        ReflectionTestUtils.setField(chatLogStore, "segmentBytes", 1024);
+        ReflectionTestUtils.setField(chatLogStore, "idleCloseMinutes", 10L);
+        return chatLogStore;
+    }
+}
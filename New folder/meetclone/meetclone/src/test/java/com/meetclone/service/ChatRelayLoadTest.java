@@ -0,0 +1,239 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+class ChatRelayLoadTest {
+
+    private static final int ROOMS = 500;
+    private static final int PARTICIPANTS = 20;
+    private static final int MESSAGES_PER_ROOM = 10;
+    private static final long ROUND_INTERVAL_MILLIS = 100;
+    private static final long P99_BOUND_MILLIS = 500;
+
+    @TempDir
+    Path logDir;
+
+    private RoomShardExecutor shards;
+    private ChatLogStore chatLogStore;
+    private ChatRelayService relay;
+
+    @BeforeEach
+    void setUp() {
+        shards = new RoomShardExecutor();
+        shards.start();
+        chatLogStore = new ChatLogStore();
+        ReflectionTestUtils.setField(chatLogStore, "baseDir", logDir);
+        ReflectionTestUtils.setField(chatLogStore, "segmentBytes", 1 << 16);
+        ReflectionTestUtils.setField(chatLogStore, "idleCloseMinutes", 10L);
+        ChatSearchIndex chatSearchIndex = new ChatSearchIndex();
+        ReflectionTestUtils.setField(chatSearchIndex, "chatLogStore", chatLogStore);
+        ReflectionTestUtils.setField(chatSearchIndex, "objectMapper", JsonMapper.builder().build());
+        relay = new ChatRelayService();
+        ReflectionTestUtils.setField(relay, "shards", shards);
+        ReflectionTestUtils.setField(relay, "chatLogStore", chatLogStore);
+        ReflectionTestUtils.setField(relay, "chatSearchIndex", chatSearchIndex);
+        ReflectionTestUtils.setField(relay, "objectMapper", JsonMapper.builder().build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.stop();
+        chatLogStore.closeAll();
+    }
+
+    @Test
+    void fansOutToAllRoomsWithBoundedP99() throws Exception {
+        MeetingConnection[][] connections = new MeetingConnection[ROOMS][PARTICIPANTS];
+        Recorder warmup = new Recorder(ROOMS * PARTICIPANTS);
+        Recorder[] current = { warmup };
+        for (int r = 0; r < ROOMS; r++) {
+            String code = "room-" + r;
+            for (int p = 0; p < PARTICIPANTS; p++) {
+                RecordingSession session = new RecordingSession(code + "-" + p, current);
+                connections[r][p] = new MeetingConnection(session, code, (long) p, "user" + p,
+                        shards.getSendExecutor(), 1024);
+                relay.join(connections[r][p]);
+            }
+        }
+
+        publishRound(connections, 0);
+        assertTrue(warmup.delivered.await(30, TimeUnit.SECONDS), "timed out waiting for warm-up fan-out");
+
+        int expected = ROOMS * PARTICIPANTS * MESSAGES_PER_ROOM;
+        Recorder measured = new Recorder(expected);
+        current[0] = measured;
+
+        long start = System.nanoTime();
+        for (int m = 0; m < MESSAGES_PER_ROOM; m++) {
+            publishRound(connections, m);
+            Thread.sleep(ROUND_INTERVAL_MILLIS);
+        }
+
+        assertTrue(measured.delivered.await(60, TimeUnit.SECONDS), "timed out waiting for fan-out");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(expected, measured.recorded.get());
+        long[] latencies = measured.latencies;
+        Arrays.sort(latencies);
+        long p50 = TimeUnit.NANOSECONDS.toMillis(latencies[expected / 2]);
+        long p99 = TimeUnit.NANOSECONDS.toMillis(latencies[(int) (expected * 0.99)]);
+        long max = TimeUnit.NANOSECONDS.toMillis(latencies[expected - 1]);
+
+        System.out.printf("chat relay: %d rooms x %d participants, %d deliveries in %d ms, p50=%d ms p99=%d ms max=%d ms%n",
+                ROOMS, PARTICIPANTS, expected, elapsedMillis, p50, p99, max);
+        assertTrue(p99 <= P99_BOUND_MILLIS, "p99 delivery latency " + p99 + " ms exceeds " + P99_BOUND_MILLIS + " ms");
+        assertEquals(ROOMS, relay.getRoomCount());
+        assertEquals(MESSAGES_PER_ROOM + 1, chatLogStore.getLastSeq("room-0"));
+    }
+
+    private void publishRound(MeetingConnection[][] connections, int round) {
+        for (MeetingConnection[] room : connections) {
+            relay.publish(room[round % PARTICIPANTS], Long.toString(System.nanoTime()));
+        }
+    }
+
+    private static final class Recorder {
+        private final long[] latencies;
+        private final AtomicInteger recorded = new AtomicInteger();
+        private final CountDownLatch delivered;
+
+        Recorder(int expected) {
+            latencies = new long[expected];
+            delivered = new CountDownLatch(expected);
+        }
+
+        void record(long latency) {
+            latencies[recorded.getAndIncrement()] = latency;
+            delivered.countDown();
+        }
+    }
+
+    private static final class RecordingSession implements WebSocketSession {
+
+        private static final String TEXT_FIELD = "\"text\":\"";
+
+        private final String id;
+        private final Recorder[] recorder;
+        private final Map<String, Object> attributes = new HashMap<>();
+        private volatile boolean open = true;
+
+        RecordingSession(String id, Recorder[] recorder) {
+            this.id = id;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            long now = System.nanoTime();
+            String payload = (String) message.getPayload();
+            int from = payload.indexOf(TEXT_FIELD) + TEXT_FIELD.length();
+            long sentAt = Long.parseLong(payload, from, payload.indexOf('"', from), 10);
+            recorder[0].record(now - sentAt);
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public URI getUri() {
+            return null;
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public void close(CloseStatus status) {
+            open = false;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+class ChatSearchIndexTest {
+
+    private static final String CODE = "abc-defg-hij";
+
+    @TempDir
+    Path logDir;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private ChatLogStore chatLogStore;
+    private ChatSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        chatLogStore = new ChatLogStore();
+        ReflectionTestUtils.setField(chatLogStore, "baseDir", logDir);
+        ReflectionTestUtils.setField(chatLogStore, "segmentBytes", 1 << 16);
+        ReflectionTestUtils.setField(chatLogStore, "idleCloseMinutes", 10L);
+        index = newIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        chatLogStore.closeAll();
+    }
+
+    @Test
+    void matchesTermsPrefixesAndPhrasesNewestFirst() {
+        publish("Let's review the quarterly budget");
+        publish("Budget review moved to Friday");
+        publish("Can you share the slides?");
+        publish("The quarterly review is on Friday, budget after");
+
+        assertEquals(List.of(4L, 2L, 1L), seqs(index.search(CODE, "BUDGET", Long.MAX_VALUE, 10)));
+        assertEquals(List.of(4L, 1L), seqs(index.search(CODE, "quart*", Long.MAX_VALUE, 10)));
+        assertEquals(List.of(1L), seqs(index.search(CODE, "\"review the quarterly\"", Long.MAX_VALUE, 10)));
+        assertEquals(List.of(2L), seqs(index.search(CODE, "\"budget review\"", Long.MAX_VALUE, 10)));
+        assertEquals(List.of(4L, 2L), seqs(index.search(CODE, "fri* budget", Long.MAX_VALUE, 10)));
+        assertEquals(List.of(3L), seqs(index.search(CODE, "slides", Long.MAX_VALUE, 10)));
+        assertEquals(List.of(1L), seqs(index.search(CODE, "let's", Long.MAX_VALUE, 10)));
+        assertEquals(List.of(), seqs(index.search(CODE, "quarterly slides", Long.MAX_VALUE, 10)));
+        assertEquals(List.of(), seqs(index.search(CODE, "\"quarterly budget review\"", Long.MAX_VALUE, 10)));
+        assertEquals(List.of(), seqs(index.search(CODE, "  \"\" * ", Long.MAX_VALUE, 10)));
+    }
+
+    @Test
+    void pagesBackwardsWithBeforeSeq() {
+        for (int i = 0; i < 25; i++) {
+            publish("standup note " + i);
+        }
+
+        List<Long> first = seqs(index.search(CODE, "standup", Long.MAX_VALUE, 10));
+        assertEquals(10, first.size());
+        assertEquals(25L, first.get(0));
+        List<Long> second = seqs(index.search(CODE, "standup", first.get(9), 10));
+        assertEquals(15L, second.get(0));
+        assertEquals(5, seqs(index.search(CODE, "standup", 6, 10)).size());
+    }
+
+    @Test
+    void rebuildsFromTheChatLogWithoutDuplicates() {
+        publish("first message about deploys");
+        publish("second message about deploys");
+        index.evict(CODE);
+        // Written to the log while no index exists, as after a restart.
+        append("third message about deploys");
+
+        ChatSearchIndex restarted = newIndex();
+        assertEquals(List.of(3L, 2L, 1L), seqs(restarted.search(CODE, "deploys", Long.MAX_VALUE, 10)));
+
+        long seq = append("fourth message about deploys");
+        restarted.add(CODE, seq, "fourth message about deploys", frame(seq, "fourth message about deploys"));
+        restarted.add(CODE, 3, "third message about deploys", frame(3, "third message about deploys"));
+        assertEquals(List.of(4L, 3L, 2L, 1L), seqs(restarted.search(CODE, "deploys", Long.MAX_VALUE, 10)));
+        assertEquals(1, restarted.getIndexCount());
+
+        restarted.evict(CODE);
+        assertEquals(0, restarted.getIndexCount());
+    }
+
+    @Test
+    void addDuringRebuildIsQueuedWithoutWaiting() throws Exception {
+        publish("first note on the launch");
+        publish("second note on the launch");
+        index.evict(CODE);
+
+        CountDownLatch replaying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ChatLogStore slowLog = spy(chatLogStore);
+        doAnswer(invocation -> {
+            replaying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(slowLog).replay(eq(CODE), anyLong(), anyLong(), any(OutputStream.class));
+        ChatSearchIndex restarted = newIndex();
+        ReflectionTestUtils.setField(restarted, "chatLogStore", slowLog);
+
+        ExecutorService searcher = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<byte[]>> search = searcher.submit(
+                    () -> restarted.search(CODE, "launch", Long.MAX_VALUE, 10));
+            assertTrue(replaying.await(5, TimeUnit.SECONDS));
+
+            long seq = append("third note on the launch");
+            assertTimeoutPreemptively(Duration.ofSeconds(1),
+                    () -> restarted.add(CODE, seq, "third note on the launch", frame(seq, "third note on the launch")));
+            assertTimeoutPreemptively(Duration.ofSeconds(1),
+                    () -> restarted.add("other-meet-ing", 1, "unrelated launch", frame(1, "unrelated launch")));
+            assertFalse(search.isDone());
+
+            release.countDown();
+            assertEquals(List.of(3L, 2L, 1L), seqs(search.get(5, TimeUnit.SECONDS)));
+            assertEquals(List.of(3L, 2L, 1L), seqs(restarted.search(CODE, "launch", Long.MAX_VALUE, 10)));
+        } finally {
+            release.countDown();
+            searcher.shutdownNow();
+        }
+    }
+
+    @Test
+    void agreesWithScanOnLargeMeeting() {
+        String[] vocabulary = { "alpha", "alpine", "beta", "bet", "gamma", "delta", "deploy", "deployment",
+                "release", "rollback", "staging", "prod", "ship", "it", "now", "later" };
+        Random random = new Random(42);
+        List<List<String>> texts = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            List<String> words = new ArrayList<>();
+            int length = 1 + random.nextInt(12);
+            for (int w = 0; w < length; w++) {
+                words.add(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+            texts.add(words);
+            publish(String.join(" ", words));
+        }
+
+        String[][] phrases = { { "ship", "it", "now" }, { "deploy", "prod" }, { "alpha", "beta", "gamma" },
+                { "it", "it" }, { "later" } };
+        for (String[] phrase : phrases) {
+            List<Long> expected = new ArrayList<>();
+            for (int i = texts.size() - 1; i >= 0; i--) {
+                if (containsPhrase(texts.get(i), phrase)) {
+                    expected.add(i + 1L);
+                }
+            }
+            String query = "\"" + String.join(" ", phrase) + "\"";
+            assertEquals(expected, seqs(index.search(CODE, query, Long.MAX_VALUE, Integer.MAX_VALUE)), query);
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = texts.size() - 1; i >= 0; i--) {
+            boolean alp = texts.get(i).stream().anyMatch(w -> w.startsWith("alp"));
+            boolean deploy = texts.get(i).stream().anyMatch(w -> w.startsWith("deploy"));
+            if (alp && deploy) {
+                expected.add(i + 1L);
+            }
+        }
+        assertTrue(expected.size() > 100);
+        assertEquals(expected, seqs(index.search(CODE, "alp* deploy*", Long.MAX_VALUE, Integer.MAX_VALUE)));
+    }
+
+    private static boolean containsPhrase(List<String> words, String[] phrase) {
+        for (int start = 0; start + phrase.length <= words.size(); start++) {
+            boolean match = true;
+            for (int i = 0; i < phrase.length && match; i++) {
+                match = words.get(start + i).equals(phrase[i]);
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ChatSearchIndex newIndex() {
+        ChatSearchIndex created = new ChatSearchIndex();
+        ReflectionTestUtils.setField(created, "chatLogStore", chatLogStore);
+        ReflectionTestUtils.setField(created, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(created, "idleEvictMinutes", 30L);
+        return created;
+    }
+
+    private void publish(String text) {
+        long seq = append(text);
+        index.add(CODE, seq, text, frame(seq, text));
+    }
+
+    private long append(String text) {
+        return chatLogStore.append(CODE, seq -> frame(seq, text));
+    }
+
+    private byte[] frame(long seq, String text) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("type", "chat");
+        node.put("seq", seq);
+        node.put("text", text);
+        return objectMapper.writeValueAsBytes(node);
+    }
+
+    private List<Long> seqs(List<byte[]> frames) {
+        List<Long> seqs = new ArrayList<>();
+        for (byte[] frame : frames) {
+            seqs.add(objectMapper.readTree(frame).path("seq").asLong());
+        }
+        return seqs;
+    }
+}
@@ -0,0 +1,159 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Differential test: InputValidator against verbatim copies of the
+ * original UserService implementations.
+ */
+class InputValidatorTest {
+
+    private static final String ALPHABET = "aZk9_+&*-.@@..  \t\n<>\"'/éİK";
+
+    private static final String[] FRAGMENTS = { "a", "Bob", "x1", "-", "_", ".", "..", "@", "com", "co", "uk",
+            "museum", "toolongtld", "tempmail.com", "TempMail.COM", "throwaway.email", "guerrillamail.com",
+            "sub.", "1", " ", "K", "é", "<b>", "'", "/", "\"" };
+
+    private final UserService userService = new UserService();
+
+    @Test
+    void fixedCasesMatchLegacy() {
+        List<String> cases = new ArrayList<>(List.of("", " ", "a@b.co", " A.B+c@Sub.Example.ORG ",
+                "a..b@x.com", ".a@x.com", "a.@x.com", "a@x..com", "a@.x.com", "a@x.com.", "a@x.c", "a@x.abcdefgh",
+                "a@x.c0m", "a@x", "a@b@c.com", "user@tempmail.com", "USER@TEMPMAIL.COM", "user@Ka.com",
+                "K@x.com", "İ@x.com", "a@x.com\n", "a\t@x.com", "Password1", "password", "PASSWORD1",
+                "Pass1", "Abcdefg1", "123456", "12345", "1234567", "12a456", "abc", "ab", "a_1", "_ab", "1ab",
+                "abcdefghijklmnopqrst", "abcdefghijklmnopqrstu", "<script>alert('x')</script>", " a/b "));
+        cases.add("a".repeat(64) + "@x.com");
+        cases.add("a".repeat(65) + "@x.com");
+        cases.add("a@" + "b".repeat(245) + ".com");
+        cases.add("a@" + "b".repeat(246) + ".com");
+        cases.add("a@" + "a-".repeat(500) + "!");
+        for (String value : cases) {
+            assertMatchesLegacy(value);
+        }
+        assertMatchesLegacy(null);
+    }
+
+    @Test
+    void randomInputsMatchLegacy() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            if (random.nextBoolean()) {
+                int length = random.nextInt(24);
+                for (int j = 0; j < length; j++) {
+                    sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+            } else {
+                int parts = 1 + random.nextInt(8);
+                for (int j = 0; j < parts; j++) {
+                    sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+                }
+            }
+            assertMatchesLegacy(sb.toString());
+        }
+    }
+
+    @Test
+    void cleanInputIsReturnedAsIs() {
+        String clean = "hello world";
+        assertSame(clean, userService.sanitizeInput(clean));
+    }
+
+    private void assertMatchesLegacy(String value) {
+        assertEquals(Legacy.isValidEmail(value), userService.isValidEmail(value), () -> "email: " + value);
+        assertEquals(Legacy.isValidPassword(value), userService.isValidPassword(value), () -> "password: " + value);
+        assertEquals(Legacy.isValidUsername(value), userService.isValidUsername(value), () -> "username: " + value);
+        assertEquals(Legacy.isValidOtp(value), userService.isValidOtp(value), () -> "otp: " + value);
+        assertEquals(Legacy.sanitizeInput(value), userService.sanitizeInput(value), () -> "sanitize: " + value);
+    }
+
+    private static final class Legacy {
+
+        private static final Pattern EMAIL_PATTERN = Pattern.compile(
+                "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+
+        static boolean isValidEmail(String email) {
+            if (email == null || email.trim().isEmpty()) {
+                return false;
+            }
+            email = email.trim().toLowerCase();
+            if (!EMAIL_PATTERN.matcher(email).matches()) {
+                return false;
+            }
+            if (email.length() > 254) {
+                return false;
+            }
+            String[] parts = email.split("@");
+            if (parts.length != 2) {
+                return false;
+            }
+            if (parts[0].length() > 64) {
+                return false;
+            }
+            String domain = parts[1];
+            if (domain.length() > 255) {
+                return false;
+            }
+            for (String disposable : new String[] { "tempmail.com", "throwaway.email", "guerrillamail.com" }) {
+                if (domain.equalsIgnoreCase(disposable)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static boolean isValidPassword(String password) {
+            if (password == null || password.length() < 8) {
+                return false;
+            }
+            boolean hasUpper = false;
+            boolean hasLower = false;
+            boolean hasDigit = false;
+            for (char c : password.toCharArray()) {
+                if (Character.isUpperCase(c))
+                    hasUpper = true;
+                if (Character.isLowerCase(c))
+                    hasLower = true;
+                if (Character.isDigit(c))
+                    hasDigit = true;
+            }
+            return hasUpper && hasLower && hasDigit;
+        }
+
+        static boolean isValidOtp(String otp) {
+            if (otp == null || otp.length() != 6) {
+                return false;
+            }
+            return otp.matches("\\d{6}");
+        }
+
+        static boolean isValidUsername(String username) {
+            if (username == null || username.length() < 3 || username.length() > 20) {
+                return false;
+            }
+            return username.matches("^[a-zA-Z][a-zA-Z0-9_]*$");
+        }
+
+        static String sanitizeInput(String input) {
+            if (input == null) {
+                return null;
+            }
+            return input.trim()
+                    .replaceAll("<", "&lt;")
+                    .replaceAll(">", "&gt;")
+                    .replaceAll("\"", "&quot;")
+                    .replaceAll("'", "&#x27;")
+                    .replaceAll("/", "&#x2F;");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LastLoginBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LastLoginBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        buffer = new LastLoginBuffer();
+        ReflectionTestUtils.setField(buffer, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalescesToTheLatestLoginPerUser() {
+        LocalDateTime t0 = LocalDateTime.of(2026, 1, 5, 9, 0);
+        buffer.record(1L, t0.plusMinutes(2));
+        buffer.record(1L, t0);
+        buffer.record(2L, t0);
+        buffer.record(1L, t0.plusMinutes(1));
+
+        buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+        for (Object[] row : batch.getValue()) {
+            LocalDateTime expected = row[1].equals(1L) ? t0.plusMinutes(2) : t0;
+            assertEquals(Timestamp.valueOf(expected), row[0]);
+        }
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void keepsEntriesWhenTheWriteFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("down"));
+        buffer.record(1L, LocalDateTime.now());
+
+        buffer.flush();
+
+        assertEquals(1, buffer.getPendingCount());
+    }
+
+    @Test
+    void skipsTheDatabaseWhenEmpty() {
+        buffer.shutdown();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
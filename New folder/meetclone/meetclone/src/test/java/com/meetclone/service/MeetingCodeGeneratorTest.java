@@ -0,0 +1,158 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeetingCodeGeneratorTest {
+
+    private static final Pattern CODE = Pattern.compile("^[0-9a-hjkmnp-tv-z]{3}-[0-9a-hjkmnp-tv-z]{4}-[0-9a-hjkmnp-tv-z]{3}$");
+
+    @Test
+    void noCollisionsAcrossThreadsAndNodes() throws Exception {
+        drawAcrossThreadsAndNodes(8, 5_000);
+    }
+
+    @Test
+    @Tag("load")
+    void noCollisionsInFourMillionDraws() throws Exception {
+        drawAcrossThreadsAndNodes(8, 500_000);
+    }
+
+    private static void drawAcrossThreadsAndNodes(int threads, int perThread) throws Exception {
+        long[] ids = new long[threads * perThread];
+        MeetingCodeGenerator node0 = generator(0);
+        MeetingCodeGenerator node1 = generator(1);
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int offset = t * perThread;
+                MeetingCodeGenerator generator = t % 2 == 0 ? node0 : node1;
+                pool.execute(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        ids[offset + i] = generator.nextId();
+                    }
+                });
+            }
+        }
+
+        long[] codes = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            codes[i] = MeetingCodeGenerator.mix(ids[i]);
+        }
+        assertDistinct(ids);
+        assertDistinct(codes);
+    }
+
+    @Test
+    void formatsAsGroupedCrockfordBase32() {
+        MeetingCodeGenerator generator = generator(3);
+        String previous = null;
+        for (int i = 0; i < 1000; i++) {
+            String code = generator.next();
+            assertTrue(CODE.matcher(code).matches(), code);
+            assertNotEquals(previous, code);
+            previous = code;
+        }
+        assertEquals("000-0000-000", MeetingCodeGenerator.format(0));
+    }
+
+    @Test
+    void waitsForTheClockWhenTheSequenceRunsOut() {
+        AtomicLong clock = new AtomicLong(100);
+        MeetingCodeGenerator generator = steppingClock(clock);
+        long[] ids = new long[3 * (1 << MeetingCodeGenerator.SEQUENCE_BITS)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = generator.nextId();
+            long second = ids[i] >>> (MeetingCodeGenerator.NODE_BITS + MeetingCodeGenerator.SEQUENCE_BITS);
+            assertTrue(second <= clock.get(), "issued ahead of the clock");
+        }
+        assertDistinct(ids);
+        assertEquals(102, clock.get());
+    }
+
+    @Test
+    void neverReusesTheSecondItStartedIn() {
+        AtomicLong clock = new AtomicLong(100);
+        MeetingCodeGenerator before = steppingClock(clock);
+        before.init();
+        long first = before.nextId();
+        assertEquals(101, clock.get());
+
+        // A restart within the same second must not repeat the first id.
+        MeetingCodeGenerator restarted = steppingClock(clock);
+        restarted.init();
+        assertTrue(restarted.nextId() > first);
+    }
+
+    @Test
+    void waitsOutASmallClockStepBackAndFailsOnALargeOne() {
+        AtomicLong clock = new AtomicLong(1000);
+        MeetingCodeGenerator generator = steppingClock(clock);
+        long first = generator.nextId();
+        exhaust(generator, 1000);
+        clock.set(998);
+        long second = generator.nextId();
+        assertTrue(second > first);
+        assertEquals(1001, clock.get());
+
+        clock.set(10);
+        exhaust(generator, 1001);
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    void rejectsOutOfRangeNodeIds() {
+        MeetingCodeGenerator generator = new MeetingCodeGenerator();
+        ReflectionTestUtils.setField(generator, "nodeId", 32L);
+        assertThrows(IllegalStateException.class, generator::init);
+    }
+
+    private static MeetingCodeGenerator generator(long nodeId) {
+        MeetingCodeGenerator generator = new MeetingCodeGenerator();
+        ReflectionTestUtils.setField(generator, "nodeId", nodeId);
+        generator.init();
+        return generator;
+    }
+
+    // Each pause moves the clock forward one second.
+    private static MeetingCodeGenerator steppingClock(AtomicLong clock) {
+        MeetingCodeGenerator generator = new MeetingCodeGenerator() {
+            @Override
+            protected long currentSecond() {
+                return clock.get();
+            }
+
+            @Override
+            protected void pause() {
+                clock.incrementAndGet();
+            }
+        };
+        ReflectionTestUtils.setField(generator, "nodeId", 0L);
+        return generator;
+    }
+
+    private static void exhaust(MeetingCodeGenerator generator, long second) {
+        AtomicLong state = (AtomicLong) ReflectionTestUtils.getField(generator, "state");
+        state.set((second + 1 << MeetingCodeGenerator.SEQUENCE_BITS) - 1);
+    }
+
+    private static void assertDistinct(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            assertNotEquals(sorted[i - 1], sorted[i], "duplicate at " + i);
+        }
+    }
+}
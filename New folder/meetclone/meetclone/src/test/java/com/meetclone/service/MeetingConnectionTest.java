@@ -0,0 +1,66 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class MeetingConnectionTest {
+
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(r -> new Thread(r, "drain"));
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdownNow();
+    }
+
+    @Test
+    void overflowIsClosedByTheDrainTaskAfterTheSendInFlight() throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(session).sendMessage(any());
+        AtomicReference<String> closedOn = new AtomicReference<>();
+        doAnswer(invocation -> {
+            closedOn.set(Thread.currentThread().getName());
+            return null;
+        }).when(session).close(any(CloseStatus.class));
+
+        MeetingConnection connection = new MeetingConnection(session, "room", 1L, "a", sender, 2);
+        connection.send(new TextMessage("1"));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        connection.send(new TextMessage("2"));
+        connection.send(new TextMessage("3"));
+
+        assertFalse(connection.isOpen());
+        verify(session, never()).close(any(CloseStatus.class));
+
+        release.countDown();
+        verify(session, timeout(5000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals("drain", closedOn.get());
+        // Queued frames are dropped once the connection is closing.
+        verify(session, times(1)).sendMessage(any());
+    }
+}
@@ -0,0 +1,128 @@
+package com.meetclone.service;
+
+import com.meetclone.entity.Meeting;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeetingDirectoryCacheTest {
+
+    private final MeetingDirectoryCache cache = new MeetingDirectoryCache(100,
+            TimeUnit.MINUTES.toNanos(1), TimeUnit.MINUTES.toNanos(1));
+
+    @Test
+    void joinStormIssuesSingleLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Meeting meeting = meeting("abc-defg-hij");
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Optional<Meeting>>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(pool.submit(() -> cache.get("abc-defg-hij", code -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return Optional.of(meeting);
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Optional<Meeting>> result : results) {
+                assertTrue(result.get().isPresent());
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertTrue(cache.get("abc-defg-hij", code -> Optional.empty()).isPresent());
+    }
+
+    @Test
+    void cachesNegativeLookupsAndHonoursInvalidation() {
+        AtomicInteger loads = new AtomicInteger();
+        assertFalse(cache.get("missing", code -> countedEmpty(loads)).isPresent());
+        assertFalse(cache.get("missing", code -> countedEmpty(loads)).isPresent());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().negativeHits());
+
+        cache.invalidate("missing");
+        cache.get("missing", code -> countedEmpty(loads));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void doesNotCacheEndedMeetings() {
+        Meeting ended = meeting("old");
+        ended.setIsActive(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("old", code -> {
+            loads.incrementAndGet();
+            return Optional.of(ended);
+        });
+        cache.get("old", code -> {
+            loads.incrementAndGet();
+            return Optional.of(ended);
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidationOnlyDiscardsTheLoadForItsOwnCode() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("abc-defg-hij", code -> {
+            loads.incrementAndGet();
+            cache.put(meeting("new-meeting"));
+            cache.invalidate("ended-one");
+            return Optional.of(meeting(code));
+        });
+        cache.get("abc-defg-hij", code -> {
+            loads.incrementAndGet();
+            return Optional.of(meeting(code));
+        });
+        assertEquals(1, loads.get());
+
+        cache.get("racing", code -> {
+            loads.incrementAndGet();
+            cache.invalidate("racing");
+            return Optional.of(meeting(code));
+        });
+        cache.get("racing", code -> {
+            loads.incrementAndGet();
+            return Optional.of(meeting(code));
+        });
+        assertEquals(3, loads.get());
+    }
+
+    private static Optional<Meeting> countedEmpty(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+
+    private static Meeting meeting(String code) {
+        Meeting meeting = new Meeting();
+        meeting.setMeetingCode(code);
+        meeting.setIsActive(true);
+        return meeting;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
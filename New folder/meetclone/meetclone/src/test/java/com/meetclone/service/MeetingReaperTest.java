@@ -0,0 +1,109 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MeetingReaperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 12, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private MeetingService meetingService;
+    private PresenceRegistry presenceRegistry;
+    private MeetingReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:reaper" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE meetings (id BIGINT PRIMARY KEY, meeting_code VARCHAR(32) NOT NULL,"
+                + " is_active BOOLEAN NOT NULL, started_at TIMESTAMP, last_activity_at TIMESTAMP,"
+                + " ended_at TIMESTAMP)");
+        meetingService = mock(MeetingService.class);
+        presenceRegistry = mock(PresenceRegistry.class);
+        reaper = new MeetingReaper();
+        ReflectionTestUtils.setField(reaper, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(reaper, "meetingService", meetingService);
+        ReflectionTestUtils.setField(reaper, "presenceRegistry", presenceRegistry);
+        ReflectionTestUtils.setField(reaper, "enabled", true);
+        ReflectionTestUtils.setField(reaper, "idleTimeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(reaper, "batchSize", 2);
+        ReflectionTestUtils.setField(reaper, "maxBatches", 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void endsOnlyIdleMeetingsAndSetsEndedAt() {
+        insert(1, "idle", true, NOW.minusHours(3), NOW.minusHours(2));
+        insert(2, "legacy", true, NOW.minusHours(2), null);
+        insert(3, "heartbeat", true, NOW.minusHours(3), NOW.minusMinutes(1));
+        insert(4, "fresh", true, NOW.minusMinutes(5), NOW.minusMinutes(5));
+        insert(5, "local", true, NOW.minusHours(3), NOW.minusHours(3));
+        insert(6, "over", false, NOW.minusHours(3), NOW.minusHours(3));
+        when(presenceRegistry.getParticipantCount("local")).thenReturn(2);
+
+        assertEquals(2, reaper.reapOnce(NOW));
+
+        assertEquals(List.of(1L, 2L), jdbcTemplate.queryForList(
+                "SELECT id FROM meetings WHERE ended_at = ? ORDER BY id", Long.class, Timestamp.valueOf(NOW)));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM meetings WHERE is_active = TRUE", Integer.class));
+        ArgumentCaptor<List<String>> codes = ArgumentCaptor.forClass(List.class);
+        verify(meetingService, times(2)).meetingsEnded(codes.capture());
+        assertEquals(List.of("idle", "legacy"), codes.getAllValues().stream().flatMap(List::stream).sorted().toList());
+    }
+
+    @Test
+    void boundsWorkPerTickAndResumesFromTheCursor() {
+        for (int i = 1; i <= 9; i++) {
+            insert(i, "m" + i, true, NOW.minusHours(5).plusMinutes(i), null);
+        }
+
+        assertEquals(4, reaper.reapOnce(NOW));
+        assertEquals(4, reaper.reapOnce(NOW));
+        assertEquals(1, reaper.reapOnce(NOW));
+        assertEquals(0, reaper.reapOnce(NOW));
+        verify(meetingService, times(5)).meetingsEnded(anyList());
+    }
+
+    @Test
+    void presenceHeartbeatKeepsAMeetingAlive() {
+        JdbcTemplate mockJdbc = mock(JdbcTemplate.class);
+        PresenceRegistry registry = new PresenceRegistry();
+        ReflectionTestUtils.setField(registry, "jdbcTemplate", mockJdbc);
+        ReflectionTestUtils.setField(registry, "disconnectGrace", Duration.ofSeconds(15));
+        ReflectionTestUtils.setField(registry, "lobbyTimeout", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(registry, "heartbeatInterval", Duration.ofHours(1));
+        registry.join("a", 1L, 10L);
+        registry.join("b", 2L, 10L);
+
+        registry.flush();
+        registry.flush();
+
+        verify(mockJdbc, times(1)).update(startsWith("UPDATE meetings SET last_activity_at"), any(Object[].class));
+    }
+
+    private void insert(long id, String code, boolean active, LocalDateTime startedAt, LocalDateTime lastActivity) {
+        jdbcTemplate.update("INSERT INTO meetings (id, meeting_code, is_active, started_at, last_activity_at)"
+                + " VALUES (?, ?, ?, ?, ?)", id, code, active, Timestamp.valueOf(startedAt),
+                lastActivity == null ? null : Timestamp.valueOf(lastActivity));
+    }
+}
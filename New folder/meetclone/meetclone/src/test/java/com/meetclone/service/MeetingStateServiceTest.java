@@ -0,0 +1,372 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeetingStateServiceTest {
+
+    private static final int MEETING_SIZE = 200;
+    private static final int TOGGLES_PER_PARTICIPANT = 10;
+    private static final int MAX_QUEUED = 256;
+    private static final long WINDOW_MILLIS = 40;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private RoomShardExecutor shards;
+    private MeetingStateService state;
+
+    @BeforeEach
+    void setUp() {
+        shards = new RoomShardExecutor();
+        shards.start();
+        state = new MeetingStateService();
+        ReflectionTestUtils.setField(state, "shards", shards);
+        ReflectionTestUtils.setField(state, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(state, "coalesceWindowMs", WINDOW_MILLIS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.stop();
+    }
+
+    @Test
+    void joinerGetsSnapshotAndOthersGetDeltas() throws Exception {
+        View a = new View("a");
+        MeetingConnection ca = connect(a, 1L);
+        assertEquals(0, a.await(1, "state-snapshot").get(0).path("version").asLong());
+        assertTrue(state.update(ca, update("micMuted", true)));
+        a.await(1, "state-delta");
+        assertFalse(state.update(ca, update("speaking", true)));
+
+        View b = new View("b");
+        connect(b, 2L);
+        JsonNode snapshot = b.await(1, "state-snapshot").get(0);
+        assertEquals(1, snapshot.path("version").asLong());
+        assertEquals(MeetingStateService.FLAG_MIC_MUTED, snapshot.path("participants").get(0).path("state").asInt());
+
+        JsonNode joined = a.await(2, "state-delta").get(1);
+        assertEquals(1, joined.path("from").asLong());
+        assertEquals(2, joined.path("version").asLong());
+        assertEquals("b", joined.path("joined").get(0).path("username").asString());
+
+        state.update(ca, update("handRaised", true));
+        JsonNode changed = b.await(2, "state-delta").get(1);
+        assertEquals(1, changed.path("changed").get(0).get(0).asLong());
+        assertEquals(MeetingStateService.FLAG_MIC_MUTED | MeetingStateService.FLAG_HAND_RAISED,
+                changed.path("changed").get(0).get(1).asInt());
+        assertEquals(a.flags, b.flags);
+    }
+
+    @Test
+    void toggleAndUndoInsideTheWindowSendsNothing() throws Exception {
+        View a = new View("a");
+        MeetingConnection ca = connect(a, 1L);
+        a.await(1, "state-delta");
+
+        for (int i = 0; i < 9; i++) {
+            state.update(ca, update("cameraOff", i % 2 == 0));
+        }
+        state.update(ca, update("cameraOff", false));
+        Thread.sleep(WINDOW_MILLIS * 4);
+
+        assertEquals(1, a.received("state-delta").size());
+    }
+
+    @Test
+    void reconnectInsideTheWindowIsNotALeave() throws Exception {
+        View a = new View("a");
+        View b = new View("b");
+        connect(a, 1L);
+        MeetingConnection cb = connect(b, 2L);
+        a.await(1, "state-delta");
+        Thread.sleep(WINDOW_MILLIS * 2);
+        int deltas = a.received("state-delta").size();
+
+        state.leave(cb);
+        connect(new View("b2"), 2L);
+        Thread.sleep(WINDOW_MILLIS * 4);
+        assertEquals(deltas, a.received("state-delta").size());
+
+        View c = new View("c");
+        MeetingConnection cc = connect(c, 3L);
+        c.await(1, "state-snapshot");
+        state.leave(cc);
+        Thread.sleep(WINDOW_MILLIS * 4);
+        assertEquals(deltas, a.received("state-delta").size());
+        assertEquals(1, state.getRoomCount());
+    }
+
+    @Test
+    void leaveIsAnnouncedAndResyncRepairsAGap() throws Exception {
+        View a = new View("a");
+        View b = new View("b");
+        MeetingConnection ca = connect(a, 1L);
+        MeetingConnection cb = connect(b, 2L);
+        a.await(1, "state-delta");
+        Thread.sleep(WINDOW_MILLIS * 2);
+
+        state.update(cb, update("screenSharing", true));
+        a.await(2, "state-delta");
+        state.leave(cb);
+        JsonNode left = a.await(3, "state-delta").get(2);
+        assertEquals(2L, left.path("left").get(0).asLong());
+        assertEquals(Map.of(1L, 0), a.flags);
+
+        a.version = -7;
+        state.update(ca, update("handRaised", true));
+        a.await(2, "state-snapshot");
+        assertEquals(Map.of(1L, MeetingStateService.FLAG_HAND_RAISED), a.flags);
+    }
+
+    @Test
+    void hostViewOfLargeMeetingStaysConsistentWithFewBroadcasts() throws Exception {
+        View host = new View("host");
+        connect(host, 0L);
+        MeetingConnection[] connections = new MeetingConnection[MEETING_SIZE];
+        View[] views = new View[MEETING_SIZE];
+        for (int i = 0; i < MEETING_SIZE; i++) {
+            views[i] = new View("p" + i);
+            connections[i] = connect(views[i], i + 1L);
+        }
+
+        Random random = new Random(7);
+        Map<Long, Integer> expected = new HashMap<>();
+        expected.put(0L, 0);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEETING_SIZE; i++) {
+            int flags = 0;
+            for (int t = 0; t < TOGGLES_PER_PARTICIPANT; t++) {
+                int flag = 1 << random.nextInt(4);
+                flags ^= flag;
+                state.update(connections[i], update(field(flag), (flags & flag) != 0));
+            }
+            expected.put(i + 1L, flags);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!expected.equals(host.flags) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, host.flags);
+        for (View view : views) {
+            // Each view drains its own send queue, possibly well after the host's.
+            while (!expected.equals(view.flags) && view.isOpen() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(view.isOpen(), view.id + " was disconnected for falling behind");
+            assertEquals(expected, view.flags, view.id + " diverged");
+        }
+
+        int keypresses = MEETING_SIZE * TOGGLES_PER_PARTICIPANT;
+        int deltas = host.received("state-delta").size();
+        long windows = elapsedMillis / WINDOW_MILLIS + 3;
+        assertTrue(deltas <= windows, deltas + " deltas for " + keypresses + " keypresses in " + elapsedMillis + " ms");
+        assertEquals(0, host.received("state-snapshot").size() - 1, "host had to resync");
+    }
+
+    private MeetingConnection connect(View view, long userId) {
+        MeetingConnection connection = new MeetingConnection(view, "room", userId, view.id,
+                shards.getSendExecutor(), MAX_QUEUED);
+        view.connection = connection;
+        state.join(connection);
+        return connection;
+    }
+
+    private ObjectNode update(String field, boolean value) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("type", "state");
+        node.put(field, value);
+        return node;
+    }
+
+    private static String field(int flag) {
+        return switch (flag) {
+            case MeetingStateService.FLAG_MIC_MUTED -> "micMuted";
+            case MeetingStateService.FLAG_CAMERA_OFF -> "cameraOff";
+            case MeetingStateService.FLAG_SCREEN_SHARING -> "screenSharing";
+            default -> "handRaised";
+        };
+    }
+
+    /** Applies snapshots and deltas the way meeting.js does. */
+    private final class View extends StubSession {
+
+        private final List<JsonNode> messages = new CopyOnWriteArrayList<>();
+        private final Map<Long, Integer> flags = new ConcurrentHashMap<>();
+        private volatile long version = -1;
+        private boolean syncPending;
+        private MeetingConnection connection;
+
+        View(String id) {
+            super(id);
+        }
+
+        // Messages for one connection are delivered one at a time, in order.
+        @Override
+        void receive(JsonNode message) {
+            messages.add(message);
+            switch (message.path("type").asString()) {
+                case "state-snapshot" -> {
+                    flags.clear();
+                    message.path("participants").forEach(p -> flags.put(p.path("userId").asLong(),
+                            p.path("state").asInt()));
+                    version = message.path("version").asLong();
+                    syncPending = false;
+                }
+                case "state-delta" -> {
+                    if (syncPending) {
+                        return;
+                    }
+                    if (message.path("from").asLong() != version) {
+                        syncPending = true;
+                        state.resync(connection);
+                        return;
+                    }
+                    message.path("joined").forEach(p -> flags.put(p.path("userId").asLong(), p.path("state").asInt()));
+                    message.path("changed").forEach(c -> flags.put(c.get(0).asLong(), c.get(1).asInt()));
+                    message.path("left").forEach(u -> flags.remove(u.asLong()));
+                    version = message.path("version").asLong();
+                }
+                default -> {
+                }
+            }
+        }
+
+        List<JsonNode> received(String type) {
+            return messages.stream().filter(m -> type.equals(m.path("type").asString())).toList();
+        }
+
+        List<JsonNode> await(int count, String type) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (received(type).size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            List<JsonNode> matching = received(type);
+            assertTrue(matching.size() >= count, "expected " + count + " " + type + " for " + id);
+            return matching;
+        }
+    }
+
+    private abstract class StubSession implements WebSocketSession {
+
+        final String id;
+        private final Map<String, Object> attributes = new HashMap<>();
+        private volatile boolean open = true;
+
+        StubSession(String id) {
+            this.id = id;
+        }
+
+        abstract void receive(JsonNode message);
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            receive(objectMapper.readTree((String) message.getPayload()));
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public URI getUri() {
+            return null;
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public void close(CloseStatus status) {
+            open = false;
+        }
+    }
+}
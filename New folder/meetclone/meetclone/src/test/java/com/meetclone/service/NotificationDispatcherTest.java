@@ -0,0 +1,297 @@
+package com.meetclone.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.meetclone.entity.Notification;
+import com.meetclone.repository.NotificationRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    private final List<Notification> outbox = new ArrayList<>();
+    private OutboxCipher cipher;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        cipher = new OutboxCipher();
+        cipher.init();
+        dispatcher = newDispatcher();
+    }
+
+    private NotificationDispatcher newDispatcher() {
+        // Mirrors the repository's claim queries over the in-memory outbox.
+        NotificationRepository repo = mock(NotificationRepository.class);
+        when(repo.findClaimableIds(any(), any())).thenAnswer(call -> {
+            LocalDateTime now = call.getArgument(0);
+            Limit limit = call.getArgument(1);
+            synchronized (outbox) {
+                return outbox.stream().filter(n -> claimable(n, now)).limit(limit.max()).map(Notification::getId)
+                        .toList();
+            }
+        });
+        when(repo.claim(any(), any(), any(), any())).thenAnswer(call -> {
+            Collection<Long> ids = call.getArgument(0);
+            LocalDateTime now = call.getArgument(3);
+            int claimed = 0;
+            synchronized (outbox) {
+                for (Notification n : outbox) {
+                    if (ids.contains(n.getId()) && claimable(n, now)) {
+                        n.setStatus(Notification.Status.IN_FLIGHT);
+                        n.setClaimToken(call.getArgument(1));
+                        n.setClaimedUntil(call.getArgument(2));
+                        claimed++;
+                    }
+                }
+            }
+            return claimed;
+        });
+        // Loaded rows are detached copies, as they are from the database.
+        when(repo.findByClaimTokenOrderByIdAsc(any())).thenAnswer(call -> {
+            synchronized (outbox) {
+                return outbox.stream().filter(n -> call.getArgument(0).equals(n.getClaimToken()))
+                        .map(NotificationDispatcherTest::copy).toList();
+            }
+        });
+        when(repo.complete(any(), any(), any(), anyInt(), any(), any(), any(), any())).thenAnswer(call -> {
+            synchronized (outbox) {
+                for (Notification n : outbox) {
+                    if (n.getId().equals(call.getArgument(0)) && call.getArgument(1).equals(n.getClaimToken())) {
+                        n.setStatus(call.getArgument(2));
+                        n.setAttempts(call.getArgument(3));
+                        n.setSentAt(call.getArgument(4));
+                        n.setNextAttemptAt(call.getArgument(5));
+                        n.setLastError(call.getArgument(6));
+                        n.setSecret(call.getArgument(7));
+                        n.setClaimToken(null);
+                        n.setClaimedUntil(null);
+                        return 1;
+                    }
+                }
+            }
+            return 0;
+        });
+
+        NotificationDispatcher dispatcher = new NotificationDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "repo", repo);
+        ReflectionTestUtils.setField(dispatcher, "cipher", cipher);
+        ReflectionTestUtils.setField(dispatcher, "from", "no-reply@meetclone.local");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoff", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(dispatcher, "claimLease", Duration.ofMinutes(5));
+        return dispatcher;
+    }
+
+    private static Notification copy(Notification n) {
+        Notification copy = new Notification();
+        copy.setId(n.getId());
+        copy.setType(n.getType());
+        copy.setRecipient(n.getRecipient());
+        copy.setSubject(n.getSubject());
+        copy.setBody(n.getBody());
+        copy.setSecret(n.getSecret());
+        copy.setStatus(n.getStatus());
+        copy.setAttempts(n.getAttempts());
+        copy.setCreatedAt(n.getCreatedAt());
+        copy.setNextAttemptAt(n.getNextAttemptAt());
+        copy.setSentAt(n.getSentAt());
+        copy.setLastError(n.getLastError());
+        copy.setClaimToken(n.getClaimToken());
+        copy.setClaimedUntil(n.getClaimedUntil());
+        return copy;
+    }
+
+    private static boolean claimable(Notification n, LocalDateTime now) {
+        return n.getStatus() == Notification.Status.PENDING && !n.getNextAttemptAt().isAfter(now)
+                || n.getStatus() == Notification.Status.IN_FLIGHT && n.getClaimedUntil().isBefore(now);
+    }
+
+    @Test
+    void deliversEveryPendingRowInBatches() {
+        useSmtpPort(greenMail.getSmtp().getPort());
+        for (int i = 0; i < 120; i++) {
+            outbox.add(notification("user" + i + "@example.com"));
+        }
+
+        assertEquals(50, dispatcher.dispatchBatch());
+        assertEquals(50, dispatcher.dispatchBatch());
+        assertEquals(20, dispatcher.dispatchBatch());
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(120, received.length);
+        assertTrue(outbox.stream().allMatch(n -> n.getStatus() == Notification.Status.SENT && n.getSentAt() != null));
+        assertEquals(120, dispatcher.getSentCount());
+    }
+
+    @Test
+    void nodesSharingTheOutboxSendEachRowOnce() throws Exception {
+        useSmtpPort(greenMail.getSmtp().getPort());
+        for (int i = 0; i < 200; i++) {
+            outbox.add(notification("user" + i + "@example.com"));
+        }
+        NotificationDispatcher other = newDispatcher();
+        ReflectionTestUtils.setField(other, "mailSender", ReflectionTestUtils.getField(dispatcher, "mailSender"));
+
+        ExecutorService nodes = Executors.newFixedThreadPool(2);
+        try {
+            for (NotificationDispatcher node : List.of(dispatcher, other)) {
+                nodes.submit(() -> {
+                    while (node.dispatchBatch() > 0) {
+                        // drain
+                    }
+                    return null;
+                });
+            }
+            nodes.shutdown();
+            assertTrue(nodes.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            nodes.shutdownNow();
+        }
+
+        assertEquals(200, greenMail.getReceivedMessages().length);
+        assertEquals(200, dispatcher.getSentCount() + other.getSentCount());
+    }
+
+    @Test
+    void expiredClaimIsPickedUpAgain() {
+        Notification notification = notification("user@example.com");
+        notification.setStatus(Notification.Status.IN_FLIGHT);
+        notification.setClaimToken("dead-node");
+        notification.setClaimedUntil(LocalDateTime.now().plusMinutes(1));
+        outbox.add(notification);
+
+        assertEquals(0, dispatcher.dispatchBatch());
+        notification.setClaimedUntil(LocalDateTime.now().minusSeconds(1));
+        assertEquals(1, dispatcher.dispatchBatch());
+        assertEquals(Notification.Status.SENT, notification.getStatus());
+        assertNull(notification.getClaimToken());
+    }
+
+    @Test
+    void lateOutcomeDoesNotOverwriteAnotherNodesClaim() {
+        Notification notification = notification("user@example.com");
+        outbox.add(notification);
+        // SMTP outlives the lease and another node reclaims the row mid-send.
+        ReflectionTestUtils.setField(dispatcher, "mailSender", new JavaMailSenderImpl() {
+            @Override
+            public void send(MimeMessage... mimeMessages) {
+                notification.setClaimToken("other-node");
+                notification.setClaimedUntil(LocalDateTime.now().plusMinutes(5));
+            }
+        });
+
+        assertEquals(1, dispatcher.dispatchBatch());
+
+        assertEquals(Notification.Status.IN_FLIGHT, notification.getStatus());
+        assertEquals("other-node", notification.getClaimToken());
+        assertEquals(0, notification.getAttempts());
+        assertNull(notification.getSentAt());
+    }
+
+    @Test
+    void secretIsSealedAtRestAndOnlyInTheMail() throws Exception {
+        useSmtpPort(greenMail.getSmtp().getPort());
+        Notification notification = notification("user@example.com");
+        notification.setBody("Your one-time password is " + NotificationService.SECRET_PLACEHOLDER + ".");
+        notification.setSecret(cipher.seal("654321"));
+        outbox.add(notification);
+        assertFalse(notification.getSecret().contains("654321"));
+
+        assertEquals(1, dispatcher.dispatchBatch());
+
+        assertEquals("Your one-time password is 654321.",
+                greenMail.getReceivedMessages()[0].getContent().toString().trim());
+        assertNull(notification.getSecret());
+        assertFalse(notification.getBody().contains("654321"));
+    }
+
+    @Test
+    void retriesWithBackoffThenGivesUp() {
+        useSmtpPort(1);
+        Notification notification = notification("user@example.com");
+        outbox.add(notification);
+
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(1, dispatcher.dispatchBatch());
+        assertEquals(Notification.Status.PENDING, notification.getStatus());
+        assertEquals(1, notification.getAttempts());
+        assertNotNull(notification.getLastError());
+        assertTrue(!notification.getNextAttemptAt().isBefore(before.plusSeconds(5)));
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        notification.setNextAttemptAt(LocalDateTime.now());
+        dispatcher.dispatchBatch();
+        notification.setNextAttemptAt(LocalDateTime.now());
+        dispatcher.dispatchBatch();
+        assertEquals(Notification.Status.FAILED, notification.getStatus());
+        assertEquals(3, notification.getAttempts());
+        assertEquals(2, dispatcher.getRetryCount());
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertEquals(Duration.ofSeconds(5), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(20), dispatcher.backoff(3));
+        assertEquals(Duration.ofMinutes(10), dispatcher.backoff(30));
+    }
+
+    @Test
+    void logsWhenNoMailHostIsConfigured() {
+        Notification notification = notification("user@example.com");
+        outbox.add(notification);
+
+        assertEquals(1, dispatcher.dispatchBatch());
+        assertEquals(Notification.Status.SENT, notification.getStatus());
+    }
+
+    private void useSmtpPort(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        ReflectionTestUtils.setField(dispatcher, "mailSender", sender);
+    }
+
+    private Notification notification(String recipient) {
+        Notification notification = new Notification();
+        notification.setId((long) outbox.size() + 1);
+        notification.setType(NotificationService.TYPE_OTP);
+        notification.setRecipient(recipient);
+        notification.setSubject("Your MeetClone verification code");
+        notification.setBody("Your meeting starts soon.");
+        notification.setCreatedAt(LocalDateTime.now());
+        notification.setNextAttemptAt(LocalDateTime.now());
+        return notification;
+    }
+}
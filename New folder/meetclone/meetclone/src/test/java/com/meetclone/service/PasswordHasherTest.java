@@ -0,0 +1,98 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        hasher = new PasswordHasher();
+        ReflectionTestUtils.setField(hasher, "configuredCost", 4);
+        ReflectionTestUtils.setField(hasher, "targetLatency", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(hasher, "minCost", 4);
+        ReflectionTestUtils.setField(hasher, "maxCost", 16);
+        ReflectionTestUtils.setField(hasher, "threads", 1);
+        ReflectionTestUtils.setField(hasher, "queueCapacity", 2);
+        ReflectionTestUtils.setField(hasher, "timeout", Duration.ofSeconds(30));
+        hasher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.stop();
+    }
+
+    @Test
+    void hashesAndVerifies() {
+        String hash = hasher.hash("Password1");
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("Password1", hash));
+        assertFalse(hasher.matches("Password2", hash));
+        assertFalse(hasher.needsUpgrade(hash));
+    }
+
+    @Test
+    void legacyPlaintextStillVerifiesAndNeedsUpgrade() {
+        assertTrue(hasher.matches("Password1", "Password1"));
+        assertFalse(hasher.matches("Password2", "Password1"));
+        assertTrue(hasher.needsUpgrade("Password1"));
+    }
+
+    @Test
+    void lowerCostHashNeedsUpgrade() {
+        String hash = hasher.hash("Password1");
+        hasher.setCost(5);
+        assertTrue(hasher.matches("Password1", hash));
+        assertTrue(hasher.needsUpgrade(hash));
+    }
+
+    @Test
+    void rejectsPasswordsBcryptWouldTruncate() {
+        String tooLong = "Aa1" + "x".repeat(PasswordHasher.MAX_PASSWORD_BYTES);
+        assertThrows(IllegalArgumentException.class, () -> hasher.hash(tooLong));
+        assertFalse(hasher.matches(tooLong, hasher.hash("Password1")));
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        int cost = hasher.calibrate();
+        assertTrue(cost >= 4 && cost <= 16, "cost " + cost);
+    }
+
+    @Test
+    void saturatedPoolRejectsInsteadOfQueueingForever() {
+        hasher.setCost(12);
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                calls.add(CompletableFuture.supplyAsync(() -> hasher.hash("Password1"), callers));
+            }
+            boolean rejected = calls.stream().anyMatch(call -> {
+                try {
+                    call.join();
+                    return false;
+                } catch (Exception e) {
+                    return e.getCause() instanceof RejectedExecutionException;
+                }
+            });
+            assertTrue(rejected);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PresenceRegistryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PresenceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        registry = new PresenceRegistry();
+        ReflectionTestUtils.setField(registry, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(registry, "disconnectGrace", Duration.ZERO);
+        ReflectionTestUtils.setField(registry, "lobbyTimeout", Duration.ofMinutes(15));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void countsConcurrentJoinsAndFlushesOneBatch() throws Exception {
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (long user = 0; user < 1000; user++) {
+                long id = user;
+                pool.execute(() -> registry.join("hot", 1L, id));
+                pool.execute(() -> registry.join("hot", 1L, id));
+            }
+        }
+        registry.join("quiet", 2L, 7L);
+
+        assertEquals(1000, registry.getParticipantCount("hot"));
+        assertEquals(1, registry.getParticipantCount("quiet"));
+
+        registry.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+
+        registry.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dropsMembersAfterTheirLastSocketCloses() {
+        registry.join("room", 5L, 1L);
+        registry.connect("room", 5L, 1L);
+        registry.connect("room", 5L, 1L);
+        registry.disconnect("room", 1L);
+        registry.flush();
+        assertEquals(1, registry.getParticipantCount("room"));
+
+        registry.disconnect("room", 1L);
+        registry.flush();
+        assertEquals(0, registry.getParticipantCount("room"));
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        assertArrayEquals(new Object[] { 0, 5L }, batch.getValue().get(0));
+    }
+
+    @Test
+    void doesNotWriteWhenNothingChanged() {
+        registry.flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
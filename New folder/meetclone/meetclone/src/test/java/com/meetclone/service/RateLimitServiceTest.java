@@ -0,0 +1,69 @@
+package com.meetclone.service;
+
+import com.meetclone.config.RateLimitInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitServiceTest {
+
+    private RateLimitService service;
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        service = new RateLimitService();
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "maxKeys", 1000);
+        ReflectionTestUtils.setField(service, "loginIp", "100/1m");
+        ReflectionTestUtils.setField(service, "loginEmail", "3/5m");
+        ReflectionTestUtils.setField(service, "otpSendIp", "10/15m");
+        ReflectionTestUtils.setField(service, "otpSendEmail", "3/15m");
+        ReflectionTestUtils.setField(service, "otpVerify", "5/5m");
+        ReflectionTestUtils.setField(service, "joinIp", "2/1m");
+        ReflectionTestUtils.setField(service, "joinCode", "300/1m");
+        service.init();
+        interceptor = new RateLimitInterceptor();
+        ReflectionTestUtils.setField(interceptor, "rateLimitService", service);
+    }
+
+    @Test
+    void rejectsLoginsOverTheEmailLimitWith429() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(interceptor.preHandle(post("/loginpage", "email", "Jane@Example.com"),
+                    new MockHttpServletResponse(), null));
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(post("/loginpage", "email", " jane@example.com"), response, null));
+        assertEquals(429, response.getStatus());
+        assertEquals("100", response.getHeader("Retry-After"));
+
+        assertTrue(interceptor.preHandle(post("/loginpage", "email", "other@example.com"),
+                new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void limitsJoinsPerClientAddress() throws Exception {
+        assertTrue(interceptor.preHandle(post("/joinMeeting", "meetingCode", "a"), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(post("/joinMeeting", "meetingCode", "b"), new MockHttpServletResponse(), null));
+        assertFalse(interceptor.preHandle(post("/joinMeeting", "meetingCode", "c"), new MockHttpServletResponse(), null));
+
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/joinMeeting");
+        get.setServletPath("/joinMeeting");
+        assertTrue(interceptor.preHandle(get, new MockHttpServletResponse(), null));
+    }
+
+    private static MockHttpServletRequest post(String path, String param, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr("203.0.113.7");
+        request.setParameter(param, value);
+        return request;
+    }
+}
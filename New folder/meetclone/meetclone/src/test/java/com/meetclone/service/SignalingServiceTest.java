@@ -0,0 +1,387 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignalingServiceTest {
+
+    private static final int MESH_PEERS = 50;
+    private static final int CANDIDATES_PER_PEER = 8;
+    private static final int MAX_QUEUED = 256;
+    private static final long MESH_BOUND_MILLIS = 10_000;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private RoomShardExecutor shards;
+    private SignalingService signaling;
+
+    @BeforeEach
+    void setUp() {
+        shards = new RoomShardExecutor();
+        shards.start();
+        signaling = new SignalingService();
+        ReflectionTestUtils.setField(signaling, "shards", shards);
+        ReflectionTestUtils.setField(signaling, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(signaling, "iceBatchWindowMs", 20L);
+        ReflectionTestUtils.setField(signaling, "iceBatchMax", 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.stop();
+    }
+
+    @Test
+    void routesDescriptionsToTheAddressedPeerOnly() throws Exception {
+        Inbox a = new Inbox("a");
+        Inbox b = new Inbox("b");
+        Inbox c = new Inbox("c");
+        MeetingConnection ca = connect(a, "room");
+        connect(b, "room");
+        connect(c, "room");
+        a.await(1, "peers");
+        c.await(1, "peers");
+
+        assertTrue(signaling.relay(ca, "offer", message("to", "b", "sdp", "v=0 offer")));
+        JsonNode offer = b.await(1, "offer").get(0);
+
+        assertEquals("a", offer.path("from").asString());
+        assertEquals("v=0 offer", offer.path("sdp").asString());
+        assertEquals(List.of("a", "b"), names(c.await(1, "peers").get(0).path("peers")));
+        Thread.sleep(50);
+        assertTrue(c.received("offer").isEmpty());
+        assertTrue(a.received("offer").isEmpty());
+
+        assertTrue(signaling.relay(ca, "answer", message("to", "gone", "sdp", "v=0")));
+        assertEquals("gone", a.await(1, "peer-left").get(0).path("id").asString());
+        assertFalse(signaling.relay(ca, "offer", message("sdp", "v=0")));
+        assertFalse(signaling.relay(ca, "renegotiate", message("to", "b")));
+    }
+
+    @Test
+    void batchesIceCandidatesBehindTheirDescription() throws Exception {
+        Inbox a = new Inbox("a");
+        Inbox b = new Inbox("b");
+        MeetingConnection ca = connect(a, "room");
+        connect(b, "room");
+        b.await(1, "peers");
+
+        signaling.relay(ca, "ice", candidate("b", 0));
+        signaling.relay(ca, "ice", candidate("b", 1));
+        signaling.relay(ca, "offer", message("to", "b", "sdp", "v=0"));
+        for (int i = 2; i < 7; i++) {
+            signaling.relay(ca, "ice", candidate("b", i));
+        }
+
+        List<JsonNode> ice = b.await(2, "ice");
+        assertEquals(List.of("ice", "offer", "ice"), b.types().subList(1, 4));
+        assertEquals(2, ice.get(0).path("candidates").size());
+        assertEquals(5, ice.get(1).path("candidates").size());
+        assertEquals("cand-6", ice.get(1).path("candidates").get(4).path("candidate").asString());
+    }
+
+    @Test
+    void leavingPeerIsAnnouncedAndItsPendingCandidatesDropped() throws Exception {
+        Inbox a = new Inbox("a");
+        Inbox b = new Inbox("b");
+        MeetingConnection ca = connect(a, "room");
+        MeetingConnection cb = connect(b, "room");
+        b.await(1, "peers");
+
+        signaling.relay(cb, "ice", candidate("a", 0));
+        signaling.leave(cb);
+
+        assertEquals("b", a.await(1, "peer-left").get(0).path("id").asString());
+        Thread.sleep(50);
+        assertTrue(a.received("ice").isEmpty());
+        signaling.leave(ca);
+        Thread.sleep(50);
+        assertEquals(0, signaling.getRoomCount());
+    }
+
+    /**
+     * Headless 50-peer mesh. Each simulated peer follows the browser client:
+     * on "peers" it offers to everyone already present, it answers each
+     * offer, and it trickles CANDIDATES_PER_PEER candidates after every
+     * description. A pair direction is done once a peer holds the other's
+     * description and all of its candidates.
+     */
+    @Test
+    @Tag("load")
+    void fiftyPeerMeshNegotiatesWithinBound() throws Exception {
+        int directions = MESH_PEERS * (MESH_PEERS - 1);
+        CountDownLatch negotiated = new CountDownLatch(directions);
+        AtomicInteger iceMessages = new AtomicInteger();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        List<SimulatedPeer> mesh = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MESH_PEERS; i++) {
+            SimulatedPeer peer = new SimulatedPeer("peer-" + i, negotiated, iceMessages, outOfOrder);
+            peer.connection = new MeetingConnection(peer, "mesh-room", (long) i, "user" + i,
+                    shards.getSendExecutor(), MAX_QUEUED);
+            mesh.add(peer);
+            signaling.join(peer.connection);
+        }
+
+        boolean done = negotiated.await(MESH_BOUND_MILLIS, TimeUnit.MILLISECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int candidates = directions * CANDIDATES_PER_PEER;
+        System.out.printf("signaling mesh: %d peers, %d pair directions negotiated in %d ms, "
+                + "%d candidates in %d ice messages%n", MESH_PEERS, directions - negotiated.getCount(),
+                elapsedMillis, candidates, iceMessages.get());
+
+        assertTrue(done, (directions - negotiated.getCount()) + " of " + directions
+                + " directions negotiated within " + MESH_BOUND_MILLIS + " ms");
+        assertEquals(0, outOfOrder.get(), "candidates overtook their description");
+        for (SimulatedPeer peer : mesh) {
+            assertTrue(peer.isOpen(), peer.id + " was disconnected for falling behind");
+        }
+        assertTrue(iceMessages.get() * 2 <= candidates, "ICE candidates were not batched");
+    }
+
+    private MeetingConnection connect(Inbox inbox, String room) {
+        MeetingConnection connection = new MeetingConnection(inbox, room, 1L, inbox.id,
+                shards.getSendExecutor(), MAX_QUEUED);
+        signaling.join(connection);
+        return connection;
+    }
+
+    private ObjectNode message(String... fields) {
+        ObjectNode node = objectMapper.createObjectNode();
+        for (int i = 0; i < fields.length; i += 2) {
+            node.put(fields[i], fields[i + 1]);
+        }
+        return node;
+    }
+
+    private ObjectNode candidate(String to, int n) {
+        ObjectNode node = message("to", to);
+        ObjectNode candidate = node.putObject("candidate");
+        candidate.put("candidate", "cand-" + n);
+        candidate.put("sdpMid", "0");
+        candidate.put("sdpMLineIndex", 0);
+        return node;
+    }
+
+    private static List<String> names(JsonNode peers) {
+        List<String> ids = new ArrayList<>();
+        peers.forEach(peer -> ids.add(peer.path("id").asString()));
+        return ids;
+    }
+
+    private final class SimulatedPeer extends StubSession {
+
+        private final CountDownLatch negotiated;
+        private final AtomicInteger iceMessages;
+        private final AtomicInteger outOfOrder;
+        private final Map<String, int[]> remotes = new ConcurrentHashMap<>();
+        private MeetingConnection connection;
+
+        SimulatedPeer(String id, CountDownLatch negotiated, AtomicInteger iceMessages, AtomicInteger outOfOrder) {
+            super(id);
+            this.negotiated = negotiated;
+            this.iceMessages = iceMessages;
+            this.outOfOrder = outOfOrder;
+        }
+
+        // Messages for one connection are delivered one at a time, in order.
+        @Override
+        void receive(JsonNode message) {
+            String from = message.path("from").asString(null);
+            switch (message.path("type").asString()) {
+                case "peers" -> message.path("peers").forEach(peer -> {
+                    String to = peer.path("id").asString();
+                    signaling.relay(connection, "offer", message("to", to, "sdp", "offer " + id));
+                    trickle(to);
+                });
+                case "offer" -> {
+                    described(from);
+                    signaling.relay(connection, "answer", message("to", from, "sdp", "answer " + id));
+                    trickle(from);
+                }
+                case "answer" -> described(from);
+                case "ice" -> {
+                    iceMessages.incrementAndGet();
+                    int[] state = remotes.computeIfAbsent(from, k -> new int[2]);
+                    if (state[0] == 0) {
+                        outOfOrder.incrementAndGet();
+                    }
+                    state[1] += message.path("candidates").size();
+                    if (state[0] == 1 && state[1] == CANDIDATES_PER_PEER) {
+                        negotiated.countDown();
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        private void described(String from) {
+            int[] state = remotes.computeIfAbsent(from, k -> new int[2]);
+            state[0] = 1;
+        }
+
+        private void trickle(String to) {
+            for (int i = 0; i < CANDIDATES_PER_PEER; i++) {
+                signaling.relay(connection, "ice", candidate(to, i));
+            }
+        }
+    }
+
+    private final class Inbox extends StubSession {
+
+        private final List<JsonNode> messages = new CopyOnWriteArrayList<>();
+
+        Inbox(String id) {
+            super(id);
+        }
+
+        @Override
+        void receive(JsonNode message) {
+            messages.add(message);
+        }
+
+        List<JsonNode> received(String type) {
+            return messages.stream().filter(m -> type.equals(m.path("type").asString())).toList();
+        }
+
+        List<String> types() {
+            return messages.stream().map(m -> m.path("type").asString()).toList();
+        }
+
+        List<JsonNode> await(int count, String type) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (received(type).size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            List<JsonNode> matching = received(type);
+            assertTrue(matching.size() >= count, "expected " + count + " " + type + " for " + id + ", got " + types());
+            return matching;
+        }
+    }
+
+    private abstract class StubSession implements WebSocketSession {
+
+        final String id;
+        private final Map<String, Object> attributes = new HashMap<>();
+        private volatile boolean open = true;
+
+        StubSession(String id) {
+            this.id = id;
+        }
+
+        abstract void receive(JsonNode message);
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            receive(objectMapper.readTree((String) message.getPayload()));
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public URI getUri() {
+            return null;
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public void close(CloseStatus status) {
+            open = false;
+        }
+    }
+}
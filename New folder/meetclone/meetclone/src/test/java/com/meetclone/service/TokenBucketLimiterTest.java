@@ -0,0 +1,120 @@
+package com.meetclone.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+    private static final long T0 = 1_780_000_000_000L;
+
+    @Test
+    void allowsABurstThenRefillsAtTheConfiguredRate() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, Duration.ofMinutes(5), 1000);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("a@example.com", T0));
+        }
+        assertEquals(60_000, limiter.tryAcquire("a@example.com", T0));
+        assertEquals(0, limiter.tryAcquire("b@example.com", T0));
+
+        long wait = limiter.tryAcquire("a@example.com", T0 + 59_999);
+        assertTrue(wait > 0 && wait <= 60, "wait " + wait);
+        assertEquals(0, limiter.tryAcquire("a@example.com", T0 + 60_000));
+        assertTrue(limiter.tryAcquire("a@example.com", T0 + 60_000) > 0);
+    }
+
+    @Test
+    void frequentRejectedCallsDoNotLoseRefill() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofSeconds(10), 1000);
+        assertEquals(0, limiter.tryAcquire("k", T0));
+        for (long t = T0 + 1; t < T0 + 10_000; t += 3) {
+            assertTrue(limiter.tryAcquire("k", t) > 0);
+        }
+        assertEquals(0, limiter.tryAcquire("k", T0 + 10_000));
+    }
+
+    @Test
+    void evictsOnlyBucketsThatHaveRefilled() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofMinutes(1), 1000);
+        limiter.tryAcquire("old", T0);
+        limiter.tryAcquire("recent", T0 + 30_000);
+
+        assertEquals(1, limiter.evictIdle(T0 + 60_000));
+        assertEquals(1, limiter.getKeyCount());
+    }
+
+    @Test
+    void sweepsInlineWhenTheKeyLimitIsReached() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofSeconds(1), 100);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("ip-" + i, T0);
+        }
+        limiter.tryAcquire("late", T0 + 1_000);
+        assertEquals(1, limiter.getKeyCount());
+    }
+
+    @Test
+    void chargesNewKeysToTheOverflowBucketWhileFull() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofMinutes(1), 100);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("ip-" + i, T0);
+        }
+
+        assertEquals(0, limiter.tryAcquire("new-1", T0 + 1));
+        assertEquals(0, limiter.tryAcquire("new-2", T0 + 2));
+        assertTrue(limiter.tryAcquire("new-3", T0 + 3) > 0);
+        assertEquals(100, limiter.getKeyCount());
+        // Known keys keep their own buckets.
+        assertEquals(0, limiter.tryAcquire("ip-7", T0 + 4));
+    }
+
+    @Test
+    void sweepsAtMostOncePerInterval() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofSeconds(10), 2);
+        limiter.tryAcquire("a", T0);
+        limiter.tryAcquire("b", T0 + 1);
+        limiter.tryAcquire("c", T0 + 9_999);
+        assertEquals(2, limiter.getKeyCount());
+
+        // Both buckets have refilled, but the last sweep was under a second ago.
+        limiter.tryAcquire("d", T0 + 10_500);
+        assertEquals(2, limiter.getKeyCount());
+        limiter.tryAcquire("e", T0 + 11_000);
+        assertEquals(1, limiter.getKeyCount());
+    }
+
+    @Test
+    void concurrentCallersNeverExceedCapacity() throws Exception {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1000, Duration.ofHours(1), 1000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    if (limiter.tryAcquire("hot", T0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(1000, granted.get());
+    }
+}
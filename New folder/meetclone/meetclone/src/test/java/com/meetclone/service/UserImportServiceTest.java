@@ -0,0 +1,192 @@
+package com.meetclone.service;
+
+import com.meetclone.dto.ImportReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Enumeration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class UserImportServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PasswordHasher passwordHasher;
+    private AdminStatsService adminStats;
+    private UserImportService importer;
+
+    @BeforeEach
+    void setUp() {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:import" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+                + " email VARCHAR(255) NOT NULL UNIQUE, username VARCHAR(255) NOT NULL UNIQUE,"
+                + " password VARCHAR(255) NOT NULL, full_name VARCHAR(255), profile_image_url VARCHAR(255),"
+                + " is_active BOOLEAN, role VARCHAR(255) NOT NULL, created_at TIMESTAMP NOT NULL,"
+                + " last_login TIMESTAMP)");
+
+        passwordHasher = new PasswordHasher();
+        ReflectionTestUtils.setField(passwordHasher, "configuredCost", 4);
+        ReflectionTestUtils.setField(passwordHasher, "targetLatency", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(passwordHasher, "minCost", 4);
+        ReflectionTestUtils.setField(passwordHasher, "maxCost", 16);
+        ReflectionTestUtils.setField(passwordHasher, "threads", 1);
+        ReflectionTestUtils.setField(passwordHasher, "queueCapacity", 16);
+        ReflectionTestUtils.setField(passwordHasher, "timeout", Duration.ofSeconds(30));
+        passwordHasher.start();
+
+        UserService userService = new UserService();
+        ReflectionTestUtils.setField(userService, "passwordHasher", passwordHasher);
+        adminStats = mock(AdminStatsService.class);
+
+        importer = new UserImportService();
+        ReflectionTestUtils.setField(importer, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(importer, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(importer, "userService", userService);
+        ReflectionTestUtils.setField(importer, "passwordHasher", passwordHasher);
+        ReflectionTestUtils.setField(importer, "adminStats", adminStats);
+        ReflectionTestUtils.setField(importer, "objectMapper", new ObjectMapper());
+        importer.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.stop();
+    }
+
+    @Test
+    void importsValidCsvRowsAndReportsTheRest() throws IOException {
+        jdbcTemplate.update("INSERT INTO users (email, username, password, role, created_at)"
+                + " VALUES ('taken@example.com', 'taken', 'x', 'USER', CURRENT_TIMESTAMP)");
+        String csv = """
+                email,username,full_name,password,unused
+                Alice@Example.com,alice,"Smith, Alice",Password1,x
+                bob@example.com,bob,"Bob ""B"" Jones
+                second line",,
+                not-an-email,carol,,,
+                taken@example.com,dave,,,
+                erin@example.com,Taken,,,
+                alice@example.com,alice2,,,
+                frank@example.com,frank,,weak,
+                """;
+
+        ImportReport report = importer.importUsers(stream(csv), "csv");
+
+        assertEquals(7, report.rows());
+        assertEquals(2, report.imported());
+        assertEquals(5, report.rejected());
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), report.errors().stream().map(ImportReport.RowError::row).sorted()
+                .toList());
+        assertEquals("Smith, Alice", jdbcTemplate.queryForObject(
+                "SELECT full_name FROM users WHERE email = 'alice@example.com'", String.class));
+        assertEquals("Bob &quot;B&quot; Jones\nsecond line", jdbcTemplate.queryForObject(
+                "SELECT full_name FROM users WHERE username = 'bob'", String.class));
+
+        String alicePassword = jdbcTemplate.queryForObject(
+                "SELECT password FROM users WHERE username = 'alice'", String.class);
+        assertTrue(passwordHasher.matches("Password1", alicePassword));
+        String bobPassword = jdbcTemplate.queryForObject(
+                "SELECT password FROM users WHERE username = 'bob'", String.class);
+        assertFalse(passwordHasher.matches(bobPassword, bobPassword));
+        verify(adminStats).usersImported(2);
+    }
+
+    @Test
+    void streamsNdjsonRowsAcrossChunks() throws IOException {
+        importNdjson(UserImportService.CHUNK_SIZE * 2 + 500, false);
+    }
+
+    @Test
+    void hashesPlaintextPasswordsBeyondTheQueueCapacity() throws IOException {
+        restartHasher(2);
+        importNdjson(40, true);
+        String stored = jdbcTemplate.queryForObject("SELECT password FROM users WHERE username = 'user39'",
+                String.class);
+        assertTrue(passwordHasher.matches("Password39", stored));
+    }
+
+    @Test
+    @Tag("load")
+    void streamsAHundredThousandNdjsonRowsInBatches() throws IOException {
+        long start = System.nanoTime();
+        importNdjson(100_000, false);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(millis < 60_000, "import took " + millis + " ms");
+    }
+
+    @Test
+    @Tag("load")
+    void hashesPlaintextRowsOnEveryPoolThread() throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int rows = Integer.getInteger("load.import-plaintext-rows", 20_000);
+        restartHasher(threads);
+        long start = System.nanoTime();
+        importNdjson(rows, true);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%d plaintext rows at cost %d on %d threads: %d ms, %.0f rows/s%n", rows,
+                passwordHasher.getCost(), threads, millis, rows * 1000.0 / Math.max(1, millis));
+        assertTrue(millis < 60_000, "import took " + millis + " ms");
+    }
+
+    private void restartHasher(int threads) {
+        passwordHasher.stop();
+        ReflectionTestUtils.setField(passwordHasher, "threads", threads);
+        passwordHasher.start();
+    }
+
+    private void importNdjson(int rows, boolean plaintext) throws IOException {
+        String hash = passwordHasher.hash("Password1");
+        Enumeration<InputStream> lines = new Enumeration<>() {
+            private int i;
+
+            @Override
+            public boolean hasMoreElements() {
+                return i < rows + 2;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                int n = i++;
+                if (n == rows) {
+                    return stream("{not json\n");
+                }
+                if (n == rows + 1) {
+                    return stream("{\"email\":\"user0@example.com\",\"username\":\"again\"}\n");
+                }
+                String password = plaintext ? "\"password\":\"Password" + n : "\"passwordHash\":\"" + hash;
+                return stream("{\"email\":\"user" + n + "@example.com\",\"username\":\"user" + n
+                        + "\",\"fullName\":\"User " + n + "\"," + password + "\"}\n");
+            }
+        };
+
+        ImportReport report = importer.importUsers(new SequenceInputStream(lines), "ndjson");
+
+        assertEquals(rows + 2, report.rows());
+        assertEquals(rows, report.imported());
+        assertEquals(2, report.rejected());
+        assertEquals(rows, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,182 @@
+package com.meetclone.session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CompactSessionRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CompactSessionRepository nodeA;
+    private CompactSessionRepository nodeB;
+
+    @BeforeEach
+    void setUp() {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:sessions" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V3__http_sessions.sql")).execute(dataSource);
+        JdbcSessionStore shared = new JdbcSessionStore(jdbcTemplate);
+        nodeA = new CompactSessionRepository(shared, Duration.ofMinutes(30), Duration.ofSeconds(60));
+        nodeB = new CompactSessionRepository(shared, Duration.ofMinutes(30), Duration.ofSeconds(60));
+    }
+
+    @Test
+    void twoNodesServeTheSameSession() {
+        CompactSession created = nodeA.createSession();
+        created.setAttribute("userId", 7L);
+        created.setAttribute("username", "jane");
+        nodeA.save(created);
+
+        CompactSession onB = nodeB.findById(created.getId());
+        assertNotNull(onB);
+        assertEquals(7L, (Long) onB.getAttribute("userId"));
+        onB.setAttribute("meetingCode", "k3f-9qzm-x2a");
+        nodeB.save(onB);
+
+        CompactSession backOnA = nodeA.findById(created.getId());
+        assertEquals("k3f-9qzm-x2a", backOnA.getAttribute("meetingCode"));
+
+        nodeB.deleteById(created.getId());
+        assertNull(nodeA.findById(created.getId()));
+    }
+
+    @Test
+    void treatsAnUndecodableSessionAsMissing() {
+        CompactSession session = nodeA.createSession();
+        session.setAttribute("userId", 7L);
+        nodeA.save(session);
+        jdbcTemplate.update("UPDATE http_sessions SET payload = ?", (Object) new byte[] { 99 });
+
+        assertNull(nodeB.findById(session.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM http_sessions", Integer.class));
+    }
+
+    @Test
+    void skipsWritesForUnchangedSessions() {
+        CountingStore store = new CountingStore(new OffHeapSessionStore());
+        CompactSessionRepository repo = new CompactSessionRepository(store, Duration.ofMinutes(30),
+                Duration.ofSeconds(60));
+        CompactSession session = repo.createSession();
+        session.setAttribute("userId", 1L);
+        repo.save(session);
+
+        CompactSession loaded = repo.findById(session.getId());
+        loaded.setLastAccessedTime(loaded.getLastAccessedTime().plusSeconds(5));
+        repo.save(loaded);
+        assertEquals(1, store.saves.get());
+        assertEquals(0, store.touches.get());
+
+        loaded.setLastAccessedTime(loaded.getLastAccessedTime().plusSeconds(120));
+        repo.save(loaded);
+        assertEquals(1, store.touches.get());
+
+        loaded.setAttribute("role", "USER");
+        repo.save(loaded);
+        assertEquals(2, store.saves.get());
+    }
+
+    @Test
+    void changedIdsReplaceTheOldRow() {
+        CompactSession session = nodeA.createSession();
+        session.setAttribute("userId", 1L);
+        nodeA.save(session);
+        String oldId = session.getId();
+
+        session.changeSessionId();
+        nodeA.save(session);
+
+        assertNull(nodeB.findById(oldId));
+        assertNotNull(nodeB.findById(session.getId()));
+    }
+
+    @Test
+    void expiredSessionsAreNotReturnedAndGetPurged() {
+        CompactSession session = nodeA.createSession();
+        session.setLastAccessedTime(Instant.now().minus(Duration.ofHours(1)));
+        nodeA.save(session);
+
+        assertNull(nodeB.findById(session.getId()));
+
+        CompactSession stale = nodeA.createSession();
+        stale.setLastAccessedTime(Instant.now().minus(Duration.ofHours(1)));
+        nodeA.save(stale);
+        nodeA.purgeExpired();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM http_sessions", Integer.class));
+    }
+
+    @Test
+    void offHeapStoreReusesAndReleasesBuffers() {
+        OffHeapSessionStore store = new OffHeapSessionStore();
+        store.save("a", new byte[100], Long.MAX_VALUE);
+        store.save("a", new byte[120], Long.MAX_VALUE);
+        assertEquals(128, store.getReservedBytes());
+        store.save("a", new byte[300], Long.MAX_VALUE);
+        assertEquals(512, store.getReservedBytes());
+        assertEquals(300, store.load("a").payload().length);
+        store.delete("a");
+        assertEquals(0, store.getReservedBytes());
+    }
+
+    @Test
+    void bothStoresCountOnlyUnexpiredSessions() {
+        for (SessionStore store : new SessionStore[] { new OffHeapSessionStore(), new JdbcSessionStore(jdbcTemplate) }) {
+            store.save("live", new byte[10], 2_000L);
+            store.save("expired", new byte[10], 1_000L);
+            assertEquals(1, store.countActive(1_500L), store.getClass().getSimpleName());
+        }
+    }
+
+    private static final class CountingStore implements SessionStore {
+        private final SessionStore delegate;
+        private final AtomicInteger saves = new AtomicInteger();
+        private final AtomicInteger touches = new AtomicInteger();
+
+        private CountingStore(SessionStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public StoredSession load(String id) {
+            return delegate.load(id);
+        }
+
+        @Override
+        public void save(String id, byte[] payload, long expiresAtMillis) {
+            saves.incrementAndGet();
+            delegate.save(id, payload, expiresAtMillis);
+        }
+
+        @Override
+        public void touch(String id, long expiresAtMillis) {
+            touches.incrementAndGet();
+            delegate.touch(id, expiresAtMillis);
+        }
+
+        @Override
+        public void delete(String id) {
+            delegate.delete(id);
+        }
+
+        @Override
+        public int purgeExpired(long nowMillis) {
+            return delegate.purgeExpired(nowMillis);
+        }
+
+        @Override
+        public long countActive(long nowMillis) {
+            return delegate.countActive(nowMillis);
+        }
+    }
+}
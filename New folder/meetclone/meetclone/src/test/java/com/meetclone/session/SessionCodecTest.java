@@ -0,0 +1,78 @@
+package com.meetclone.session;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.session.MapSession;
+
+import java.io.InvalidClassException;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionCodecTest {
+
+    @Test
+    void roundTripsTheAppsAttributesCompactly() {
+        MapSession session = new MapSession("abc");
+        session.setMaxInactiveInterval(Duration.ofMinutes(30));
+        session.setAttribute("userId", 1234567L);
+        session.setAttribute("username", "jane_doe");
+        session.setAttribute("email", "jane@example.com");
+        session.setAttribute("role", "USER");
+        session.setAttribute("isLoggedIn", true);
+        session.setAttribute("fullName", "Jane Doë");
+        session.setAttribute("meetingCode", "k3f-9qzm-x2a");
+        session.setAttribute("meetingId", 42L);
+        session.setAttribute("meetingTitle", "Standup");
+        session.setAttribute("isHost", false);
+        session.setAttribute("otpTimestamp", LocalDateTime.of(2026, 5, 1, 8, 30, 15, 123_456_789));
+        session.setAttribute("custom", -7);
+        session.setAttribute("cleared", null);
+
+        byte[] payload = SessionCodec.encode(session);
+        Instant accessed = Instant.parse("2026-05-01T08:31:00Z");
+        MapSession decoded = SessionCodec.decode("abc", payload, accessed);
+
+        assertTrue(payload.length < 160, "payload is " + payload.length + " bytes");
+        assertEquals(session.getCreationTime().toEpochMilli(), decoded.getCreationTime().toEpochMilli());
+        assertEquals(Duration.ofMinutes(30), decoded.getMaxInactiveInterval());
+        assertEquals(accessed, decoded.getLastAccessedTime());
+        for (String name : session.getAttributeNames()) {
+            assertEquals((Object) session.getAttribute(name), decoded.getAttribute(name), name);
+        }
+        assertNull(decoded.getAttribute("cleared"));
+    }
+
+    @Test
+    void fallsBackToJavaSerializationForOtherTypes() {
+        MapSession session = new MapSession("abc");
+        ArrayList<String> flash = new ArrayList<>(List.of("a", "b"));
+        session.setAttribute("org.example.FLASH", flash);
+
+        MapSession decoded = SessionCodec.decode("abc", SessionCodec.encode(session), Instant.now());
+
+        assertEquals(flash, decoded.getAttribute("org.example.FLASH"));
+    }
+
+    @Test
+    void refusesToDeserializeTypesOutsideTheAllowlist() {
+        MapSession session = new MapSession("abc");
+        session.setAttribute("org.example.CART", new Cart(List.of("a")));
+        byte[] payload = SessionCodec.encode(session);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> SessionCodec.decode("abc", payload, Instant.now()));
+        assertInstanceOf(InvalidClassException.class, e.getCause());
+    }
+
+    record Cart(List<String> items) implements Serializable {
+    }
+}